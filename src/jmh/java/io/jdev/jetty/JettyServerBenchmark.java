@@ -0,0 +1,149 @@
+package io.jdev.jetty;
+
+import io.jdev.jackson.YamlConfigurations;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.Callback;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * End-to-end request benchmark. Boots {@link JettyServer} from test yaml configs and drives it with
+ * a local {@link HttpClient} over http/1.1, h2c and h2 (TLS).
+ * <p>
+ * Run with: mvn -P benchmark test-compile exec:exec
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/13/24 6:25 PM
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class JettyServerBenchmark {
+
+  private static final String PAYLOAD = "benchmark message";
+
+  @Param
+  private Variant variant;
+
+  private JettyServer jettyServer;
+  private HttpClient client;
+  private HttpRequest request;
+
+  public static void main(String[] args) throws Exception {
+    Options options = new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .include(JettyServerBenchmark.class.getSimpleName())
+        .build();
+    new Runner(options).run();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        variant.yaml);
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(), new PayloadHandler());
+    jettyServer.start();
+
+    HttpClient.Builder builder = HttpClient.newBuilder().version(variant.version);
+    if ("https".equals(variant.scheme)) {
+      builder.sslContext(SSLTest.createSSLContext(SSLTest.DUMMY_TRUST_MANAGER));
+    }
+    client = builder.build();
+    request = HttpRequest.newBuilder()
+        .uri(URI.create(String.format("%s://127.0.0.1:%d/", variant.scheme, variant.port)))
+        .GET()
+        .version(variant.version)
+        .build();
+
+    //fail fast instead of measuring errors
+    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    if (status != 200) {
+      jettyServer.stop();
+      throw new IllegalStateException("Variant " + variant + " responded " + status);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    jettyServer.stop();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public int throughput() throws Exception {
+    return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+
+  /**
+   * Sample time mode reports p50/p90/p99/p999 percentiles.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int latency() throws Exception {
+    return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+
+  public enum Variant {
+    HTTP("/jetty_http.yaml", "http", 8081, Version.HTTP_1_1),
+    HTTP_VERSIONS("/jetty_http_versions.yaml", "http", 8082, Version.HTTP_2),
+    //dedicated tls configs: real keystore, no client auth & no secured redirect
+    HTTPS("/benchmark_https.yaml", "https", 8446, Version.HTTP_2),
+    PROTOCOLS("/benchmark_protocols.yaml", "https", 8447, Version.HTTP_1_1);
+
+    private final String yaml;
+    private final String scheme;
+    private final int port;
+    private final Version version;
+
+    Variant(String yaml, String scheme, int port, Version version) {
+      this.yaml = yaml;
+      this.scheme = scheme;
+      this.port = port;
+      this.version = version;
+    }
+  }
+
+  public static class PayloadHandler extends Handler.Abstract.NonBlocking {
+
+    private final ByteBuffer payload = BufferUtil.toBuffer(PAYLOAD);
+
+    @Override
+    public boolean handle(Request request, Response response, Callback callback) {
+      response.getHeaders().put(HttpHeader.CONTENT_TYPE, "text/plain; charset=utf-8");
+      response.write(true, payload.slice(), callback);
+      return true;
+    }
+  }
+
+}
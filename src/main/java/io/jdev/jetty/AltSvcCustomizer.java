@@ -0,0 +1,32 @@
+package io.jdev.jetty;
+
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.PreEncodedHttpField;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.Request;
+
+/**
+ * Adds Alt-Svc response header, advertising alternative protocols (Ex: h3) to clients.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/19/24 4:27 PM
+ */
+public class AltSvcCustomizer implements HttpConfiguration.Customizer {
+
+  private final HttpField altSvc;
+
+  /**
+   * @param value header value, Ex: h3=":8443"; ma=86400
+   */
+  public AltSvcCustomizer(String value) {
+    this.altSvc = new PreEncodedHttpField("Alt-Svc", value);
+  }
+
+  @Override
+  public Request customize(Request request, HttpFields.Mutable responseHeaders) {
+    responseHeaders.add(altSvc);
+    return request;
+  }
+
+}
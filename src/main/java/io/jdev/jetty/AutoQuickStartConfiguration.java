@@ -0,0 +1,35 @@
+package io.jdev.jetty;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.ee10.quickstart.QuickStartConfiguration;
+import org.eclipse.jetty.ee10.quickstart.QuickStartGeneratorConfiguration;
+import org.eclipse.jetty.ee10.webapp.WebAppContext;
+import org.eclipse.jetty.util.resource.Resources;
+
+/**
+ * Quickstart configuration where AUTO mode also writes the descriptor. Jetty AUTO boots from an
+ * existing descriptor only, when it is missing webapp is scanned & started without generating it.
+ * Here the first start scans, serves & writes descriptor, next starts boot from it.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/28/24 5:10 PM
+ */
+@Slf4j
+class AutoQuickStartConfiguration extends QuickStartConfiguration {
+
+  @Override
+  public void preConfigure(WebAppContext context) throws Exception {
+    boolean generate = context.getAttribute(MODE) == Mode.AUTO
+        && Resources.missing(getQuickStartWebXml(context));
+    super.preConfigure(context);
+    if (generate) {
+      //webapp keeps serving, generator doesn't abort start
+      QuickStartGeneratorConfiguration generator = new QuickStartGeneratorConfiguration(false);
+      configure(generator, context);
+      context.addConfiguration(generator);
+      log.info("Quickstart descriptor of '{}' is generated on this start",
+          context.getContextPath());
+    }
+  }
+
+}
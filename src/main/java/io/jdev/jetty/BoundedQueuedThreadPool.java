@@ -0,0 +1,125 @@
+package io.jdev.jetty;
+
+import java.io.Closeable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.jetty.util.BlockingArrayQueue;
+import org.eclipse.jetty.util.Callback;
+import org.eclipse.jetty.util.IO;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+/**
+ * QueuedThreadPool with fixed size job queue, jobs over capacity are handled by
+ * {@link OverflowPolicy}.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/21/24 3:31 PM
+ */
+public class BoundedQueuedThreadPool extends QueuedThreadPool {
+
+  private final int queueCapacity;
+  private final OverflowPolicy overflowPolicy;
+  private final LongAdder rejectedJobs = new LongAdder();
+  private final LongAdder callerRunsJobs = new LongAdder();
+  private final LongAdder shedJobs = new LongAdder();
+  private final ThreadLocal<Boolean> poolThread = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+  public BoundedQueuedThreadPool(int queueCapacity, OverflowPolicy overflowPolicy) {
+    super(200, 8, 60000, -1, new BlockingArrayQueue<>(queueCapacity), null, null);
+    this.queueCapacity = queueCapacity;
+    this.overflowPolicy = overflowPolicy;
+  }
+
+  @Override
+  public void execute(Runnable job) {
+    //full queue is handled before delegating, jetty logs a warning for every job it rejects
+    if (isRunning() && getQueue().remainingCapacity() <= 0 && !makeRoom(job)) {
+      return;
+    }
+    try {
+      super.execute(job);
+    } catch (RejectedExecutionException e) {
+      //queue filled up meanwhile or pool is stopping
+      rejectedJobs.increment();
+      throw e;
+    }
+  }
+
+  /**
+   * @return true if job can be queued, false if it already ran on caller thread
+   * @throws RejectedExecutionException when job is rejected by overflow policy
+   */
+  private boolean makeRoom(Runnable job) {
+    switch (overflowPolicy) {
+      case CALLER_RUNS -> {
+        //selectors run on pool threads, a blocking job there stalls all their connections
+        if (!poolThread.get()) {
+          callerRunsJobs.increment();
+          job.run();
+          return false;
+        }
+      }
+      case SHED_OLDEST -> {
+        if (shedOldest()) {
+          return true;
+        }
+      }
+      default -> {
+      }
+    }
+    rejectedJobs.increment();
+    throw new RejectedExecutionException("Thread pool queue is full : " + job);
+  }
+
+  /**
+   * Only jobs that can be failed are shed, dropping others (Ex: write completions) would leave
+   * their requests hanging.
+   *
+   * @return true if oldest queued job was removed & failed
+   */
+  private boolean shedOldest() {
+    Runnable oldest = getQueue().peek();
+    if (!(oldest instanceof Callback) && !(oldest instanceof Closeable)) {
+      return false;
+    }
+    if (!getQueue().remove(oldest)) {
+      return false;
+    }
+    shedJobs.increment();
+    if (oldest instanceof Callback callback) {
+      callback.failed(new RejectedExecutionException("Job shed by full thread pool queue"));
+    } else {
+      IO.close((Closeable) oldest);
+    }
+    return true;
+  }
+
+  @Override
+  public Thread newThread(Runnable runnable) {
+    return super.newThread(() -> {
+      poolThread.set(Boolean.TRUE);
+      runnable.run();
+    });
+  }
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public OverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  public long getRejectedJobs() {
+    return rejectedJobs.sum();
+  }
+
+  public long getCallerRunsJobs() {
+    return callerRunsJobs.sum();
+  }
+
+  public long getShedJobs() {
+    return shedJobs.sum();
+  }
+
+}
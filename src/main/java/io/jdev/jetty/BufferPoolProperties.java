@@ -0,0 +1,33 @@
+package io.jdev.jetty;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Server ByteBufferPool config. Memory limits are in bytes, -1 for unlimited retained memory or 0
+ * for jetty heuristic.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/12/24 8:10 PM
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+public class BufferPoolProperties {
+
+  private BufferPoolType type = BufferPoolType.ARRAY;
+  private Optional<Integer> minCapacity = Optional.empty();
+  private Optional<Integer> factor = Optional.empty();
+  private Optional<Integer> maxCapacity = Optional.empty();
+  private Optional<Integer> maxBucketSize = Optional.empty();
+  private Optional<Long> maxHeapMemory = Optional.empty();
+  private Optional<Long> maxDirectMemory = Optional.empty();
+  //log pool statistics when server stops
+  private boolean dumpStatistics;
+
+}
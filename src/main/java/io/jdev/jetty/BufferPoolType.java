@@ -0,0 +1,26 @@
+package io.jdev.jetty;
+
+/**
+ * ByteBufferPool implementations.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/12/24 8:02 PM
+ */
+public enum BufferPoolType {
+
+  /**
+   * {@link org.eclipse.jetty.io.ArrayByteBufferPool}, buckets grow linearly by factor.
+   */
+  ARRAY,
+
+  /**
+   * {@link org.eclipse.jetty.io.ArrayByteBufferPool.Quadratic}, buckets grow by powers of two.
+   */
+  QUADRATIC,
+
+  /**
+   * {@link org.eclipse.jetty.io.ByteBufferPool.NonPooling}, buffers are never retained.
+   */
+  NON_POOLING
+
+}
@@ -31,6 +31,38 @@ public interface Builder<T> {
     ServletBuilder<T> filter(Class<? extends Filter> filterClass, String pathSpec,
         EnumSet<DispatcherType> dispatchers);
 
+    /**
+     * Static content served by default servlet
+     *
+     * @param baseResource directory or uri of static content
+     */
+    ServletBuilder<T> baseResource(String baseResource);
+
+    /**
+     * In memory cache of static content, files over max cached file size are not cached.
+     *
+     * @param maxCachedFiles    max cached files
+     * @param maxCacheSize      max cache size in bytes
+     * @param maxCachedFileSize max size of a cached file in bytes
+     */
+    ServletBuilder<T> staticCache(int maxCachedFiles, int maxCacheSize, int maxCachedFileSize);
+
+    /**
+     * Serves existing .br & .gz siblings of static files, chosen by Accept-Encoding.
+     */
+    ServletBuilder<T> precompressed(boolean precompressed);
+
+    /**
+     * Serves static files from memory mapped buffers.
+     */
+    ServletBuilder<T> fileMappedBuffer(boolean fileMappedBuffer);
+
+    /**
+     * Adds ETag validators to static files. Default servlet ETags are weak, derived from last
+     * modified time & size, not from content.
+     */
+    ServletBuilder<T> etags(boolean etags);
+
   }
 
   interface WebSocketBuilder<T> extends Builder<T> {
@@ -0,0 +1,231 @@
+package io.jdev.jetty;
+
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.http.PreEncodedHttpField;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.util.Callback;
+
+/**
+ * Sheds load with a fast 503 when in-flight requests of a context path reach its adaptive limit.
+ * Limits are kept in atomic counters, so rejecting stays cheap when server is overloaded. Latency
+ * is sampled from request start to first response write, a spike of slow requests backs off limit
+ * once.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/20/24 5:14 PM
+ */
+public class ConcurrencyLimitHandler extends Handler.Wrapper {
+
+  private static final String ROOT_CONTEXT = "/";
+
+  private final ConcurrencyLimitProperties properties;
+  private final long latencyThreshold;
+  private final HttpField retryAfter;
+  //longest first, so most specific context path matches
+  private final List<String> contextPaths;
+  private final Map<String, Limiter> limiters = new ConcurrentHashMap<>();
+  private final MetricsRegistry metricsRegistry;
+
+  /**
+   * @param properties      limit config
+   * @param contextPaths    context paths limited separately, others share root limit
+   * @param metricsRegistry registry for limit & rejection meters, null when metrics disabled
+   */
+  public ConcurrencyLimitHandler(ConcurrencyLimitProperties properties, List<String> contextPaths,
+      MetricsRegistry metricsRegistry) {
+    this.properties = properties;
+    this.latencyThreshold = TimeUnit.MILLISECONDS.toNanos(properties.getLatencyThreshold());
+    this.retryAfter = new PreEncodedHttpField(HttpHeader.RETRY_AFTER,
+        String.valueOf(properties.getRetryAfter()));
+    this.contextPaths = contextPaths.stream()
+        .filter(path -> !ROOT_CONTEXT.equals(path))
+        .sorted(Comparator.comparingInt(String::length).reversed())
+        .toList();
+    this.metricsRegistry = metricsRegistry;
+  }
+
+  @Override
+  public boolean handle(Request request, Response response, Callback callback) throws Exception {
+    Handler next = getHandler();
+    if (next == null) {
+      return false;
+    }
+
+    Limiter limiter = limiter(findContextPath(request.getHttpURI().getPath()));
+    if (!limiter.tryAcquire()) {
+      limiter.rejected.increment();
+      response.setStatus(HttpStatus.SERVICE_UNAVAILABLE_503);
+      response.getHeaders().put(retryAfter);
+      callback.succeeded();
+      return true;
+    }
+
+    Permit permit = new Permit(limiter, System.nanoTime());
+    //latency is sampled up to first write, slow client reads are not server latency
+    Response limitedResponse = new Response.Wrapper(request, response) {
+      @Override
+      public void write(boolean last, ByteBuffer byteBuffer, Callback writeCallback) {
+        permit.committed();
+        super.write(last, byteBuffer, writeCallback);
+      }
+    };
+    Callback limitedCallback = new Callback.Nested(callback) {
+      @Override
+      public void succeeded() {
+        permit.release();
+        super.succeeded();
+      }
+
+      @Override
+      public void failed(Throwable x) {
+        permit.release();
+        super.failed(x);
+      }
+    };
+
+    try {
+      if (next.handle(request, limitedResponse, limitedCallback)) {
+        return true;
+      }
+    } catch (Throwable x) {
+      permit.release();
+      throw x;
+    }
+    permit.release();
+    return false;
+  }
+
+  private String findContextPath(String path) {
+    if (path != null) {
+      for (String contextPath : contextPaths) {
+        if (path.startsWith(contextPath) && (path.length() == contextPath.length()
+            || path.charAt(contextPath.length()) == '/')) {
+          return contextPath;
+        }
+      }
+    }
+    return ROOT_CONTEXT;
+  }
+
+  Limiter limiter(String contextPath) {
+    return limiters.computeIfAbsent(contextPath, this::newLimiter);
+  }
+
+  private Limiter newLimiter(String contextPath) {
+    Limiter limiter = new Limiter();
+    if (metricsRegistry != null) {
+      Map<String, String> labels = Map.of("context", contextPath);
+      metricsRegistry.gauge("jetty_concurrency_limit", "Adaptive concurrency limit", labels,
+          limiter.limit::get);
+      metricsRegistry.gauge("jetty_concurrency_inflight", "Requests in flight", labels,
+          limiter.inflight::get);
+      metricsRegistry.counter("jetty_concurrency_rejected_total", "Requests shed with 503",
+          labels, limiter.rejected::sum);
+    }
+    return limiter;
+  }
+
+  /**
+   * @return current limit of context path, -1 when no request was seen yet
+   */
+  public int getLimit(String contextPath) {
+    Limiter limiter = limiters.get(contextPath);
+    return limiter == null ? -1 : limiter.limit.get();
+  }
+
+  public long getRejected(String contextPath) {
+    Limiter limiter = limiters.get(contextPath);
+    return limiter == null ? 0 : limiter.rejected.sum();
+  }
+
+  /**
+   * Releases its limiter once, handler may throw after completing callback.
+   */
+  private static final class Permit {
+
+    private final Limiter limiter;
+    private final long begin;
+    private final AtomicBoolean released = new AtomicBoolean();
+    private volatile long committed;
+
+    private Permit(Limiter limiter, long begin) {
+      this.limiter = limiter;
+      this.begin = begin;
+    }
+
+    private void committed() {
+      if (committed == 0) {
+        committed = System.nanoTime();
+      }
+    }
+
+    private void release() {
+      if (released.compareAndSet(false, true)) {
+        long end = committed != 0 ? committed : System.nanoTime();
+        limiter.release(begin, end);
+      }
+    }
+
+  }
+
+  final class Limiter {
+
+    private final AtomicInteger limit = new AtomicInteger(properties.getInitialLimit());
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    //end of sample that last decreased limit
+    private final AtomicLong lastDecrease = new AtomicLong(Long.MIN_VALUE);
+
+    int getLimit() {
+      return limit.get();
+    }
+
+    boolean tryAcquire() {
+      while (true) {
+        int current = inflight.get();
+        if (current >= limit.get()) {
+          return false;
+        }
+        if (inflight.compareAndSet(current, current + 1)) {
+          return true;
+        }
+      }
+    }
+
+    /**
+     * @param begin request start in nanoseconds
+     * @param end   response commit or completion in nanoseconds
+     */
+    void release(long begin, long end) {
+      int current = inflight.getAndDecrement();
+      if (end - begin > latencyThreshold) {
+        //multiplicative decrease once per window, requests begun before last decrease are part
+        //of the same spike
+        long last = lastDecrease.get();
+        if ((last == Long.MIN_VALUE || begin - last > 0) && lastDecrease.compareAndSet(last, end)) {
+          limit.updateAndGet(value -> Math.max(properties.getMinLimit(),
+              (int) (value * properties.getBackoffRatio())));
+        }
+      } else if (current * 2 >= limit.get()) {
+        //additive increase, only while limit is actually used
+        limit.updateAndGet(value -> Math.min(properties.getMaxLimit(), value + 1));
+      }
+    }
+
+  }
+
+}
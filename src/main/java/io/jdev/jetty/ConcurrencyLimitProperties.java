@@ -0,0 +1,29 @@
+package io.jdev.jetty;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Adaptive (AIMD) concurrency limit per context path. Limit grows by one while requests are fast
+ * and shrinks by backoff ratio when a request is slower than latency threshold.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/20/24 5:02 PM
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ConcurrencyLimitProperties {
+
+  private boolean enabled;
+  private int initialLimit = 100;
+  private int minLimit = 1;
+  private int maxLimit = 1000;
+  private double backoffRatio = 0.9;
+  private long latencyThreshold = 1000; // in milliseconds
+  private int retryAfter = 1; // in seconds
+
+}
@@ -0,0 +1,44 @@
+package io.jdev.jetty;
+
+import java.util.Set;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
+import org.eclipse.jetty.util.Callback;
+
+/**
+ * GzipHandler that passes requests straight through when they arrive on an opted-out connector.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/9/24 9:20 PM
+ */
+public class ConnectorGzipHandler extends GzipHandler {
+
+  private final Set<String> excludedConnectors;
+
+  /**
+   * @param excludedConnectors names of connectors whose responses must not be compressed
+   */
+  public ConnectorGzipHandler(Set<String> excludedConnectors) {
+    this.excludedConnectors = Set.copyOf(excludedConnectors);
+  }
+
+  public Set<String> getExcludedConnectors() {
+    return excludedConnectors;
+  }
+
+  @Override
+  public boolean handle(Request request, Response response, Callback callback) throws Exception {
+    if (!excludedConnectors.isEmpty()) {
+      Connector connector = request.getConnectionMetaData().getConnector();
+      if (connector != null && excludedConnectors.contains(connector.getName())) {
+        Handler next = getHandler();
+        return next != null && next.handle(request, response, callback);
+      }
+    }
+    return super.handle(request, response, callback);
+  }
+
+}
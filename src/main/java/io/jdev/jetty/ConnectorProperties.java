@@ -19,6 +19,23 @@ public class ConnectorProperties {
   protected String host;
   protected int port;
   protected TimeoutProperties idleTimeout;
+  protected boolean gzipEnabled = true;
+  //dedicated executor, server thread pool is shared when not set
+  protected ThreadPoolProperties threadPool;
+  //-1 for jetty defaults
+  protected int acceptors = -1;
+  protected int selectors = -1;
+  protected Optional<Integer> acceptQueueSize = Optional.empty();
+  protected Optional<Boolean> reuseAddress = Optional.empty();
+  protected Optional<Boolean> reusePort = Optional.empty();
+  //sibling connectors bound to same host/port with SO_REUSEPORT
+  protected int listeners = 1;
+  //binds unix domain socket instead of host/port
+  protected Optional<String> unixDomainPath = Optional.empty();
+  //PROXY protocol v1/v2 from load balancer, before tls/http
+  protected boolean proxyProtocol = false;
+  //max open connections, shared by listeners, accepting pauses at limit
+  protected Optional<Integer> maxConnections = Optional.empty();
   protected Optional<HttpConfigProperties> httpConfig = Optional.empty();
 
 }
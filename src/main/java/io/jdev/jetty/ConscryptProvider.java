@@ -0,0 +1,41 @@
+package io.jdev.jetty;
+
+import java.security.Security;
+import lombok.extern.slf4j.Slf4j;
+import org.conscrypt.Conscrypt;
+
+/**
+ * Registers Conscrypt (BoringSSL) as a JCE provider. Kept in its own class so conscrypt classes
+ * are only resolved when a conscrypt engine is requested.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/17/24 6:22 PM
+ */
+@Slf4j
+final class ConscryptProvider {
+
+  static final String NAME = "Conscrypt";
+
+  private ConscryptProvider() {
+  }
+
+  /**
+   * @return true if provider is registered, false if native library can't be loaded
+   */
+  static synchronized boolean register() {
+    try {
+      if (!Conscrypt.isAvailable()) {
+        return false;
+      }
+      //appended, so jvm default provider order is kept for everything else
+      if (Security.getProvider(NAME) == null) {
+        Security.addProvider(Conscrypt.newProvider());
+      }
+      return true;
+    } catch (LinkageError e) {
+      log.debug("Conscrypt not found on classpath.", e);
+      return false;
+    }
+  }
+
+}
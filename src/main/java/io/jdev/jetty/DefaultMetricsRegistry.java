@@ -0,0 +1,59 @@
+package io.jdev.jetty;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory registry, meters are kept in registration order.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/14/24 4:30 PM
+ */
+public class DefaultMetricsRegistry implements MetricsRegistry {
+
+  private final List<Meter> meters = new CopyOnWriteArrayList<>();
+
+  @Override
+  public void gauge(String name, String help, Map<String, String> labels, LongSupplier value) {
+    meters.add(new Meter(name, help, MeterType.GAUGE, labels, value, null));
+  }
+
+  @Override
+  public void counter(String name, String help, Map<String, String> labels, LongSupplier value) {
+    meters.add(new Meter(name, help, MeterType.COUNTER, labels, value, null));
+  }
+
+  @Override
+  public LatencyHistogram histogram(String name, String help, Map<String, String> labels) {
+    LatencyHistogram histogram = new LatencyHistogram();
+    meters.add(new Meter(name, help, MeterType.HISTOGRAM, labels, null, histogram));
+    return histogram;
+  }
+
+  public List<Meter> getMeters() {
+    return Collections.unmodifiableList(meters);
+  }
+
+  public enum MeterType {
+    GAUGE, COUNTER, HISTOGRAM
+  }
+
+  /**
+   * @param value     set for gauges & counters
+   * @param histogram set for histograms
+   */
+  public record Meter(String name, String help, MeterType type, Map<String, String> labels,
+                      LongSupplier value, LatencyHistogram histogram) {
+
+    public Meter {
+      //sorted, so labels render in same order on every collection
+      labels = labels == null ? Map.of() : Collections.unmodifiableMap(new TreeMap<>(labels));
+    }
+
+  }
+
+}
@@ -0,0 +1,26 @@
+package io.jdev.jetty;
+
+/**
+ * Execution model of the server thread pool.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/10/24 7:41 PM
+ */
+public enum ExecutorMode {
+
+  /**
+   * Platform threads only, a plain {@link org.eclipse.jetty.util.thread.QueuedThreadPool}.
+   */
+  PLATFORM,
+
+  /**
+   * Every task runs on a virtual thread.
+   */
+  VIRTUAL,
+
+  /**
+   * Platform threads for selectors and non-blocking tasks, virtual threads for request handling.
+   */
+  HYBRID
+
+}
@@ -0,0 +1,33 @@
+package io.jdev.jetty;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.List;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compression settings applied when {@link JettyServerProperties#isGzipEnabled()} is set.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/9/24 9:12 PM
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+public class GzipProperties {
+
+  private Optional<Integer> minGzipSize = Optional.empty();
+  private Optional<Integer> compressionLevel = Optional.empty();
+  private Optional<Integer> deflaterPoolCapacity = Optional.empty();
+  private Optional<Boolean> syncFlush = Optional.empty();
+  private List<String> includedMethods;
+  private List<String> includedMimeTypes;
+  private List<String> excludedMimeTypes;
+  private List<String> includedPaths;
+  private List<String> excludedPaths;
+
+}
@@ -0,0 +1,30 @@
+package io.jdev.jetty;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * HTTP/2 flow control and concurrency settings, applied to h2 and h2c connection factories.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/18/24 5:34 PM
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+public class Http2Properties {
+
+  private Optional<Integer> maxConcurrentStreams = Optional.empty();
+  private Optional<Integer> initialSessionRecvWindow = Optional.empty(); // in bytes
+  private Optional<Integer> initialStreamRecvWindow = Optional.empty(); // in bytes
+  private Optional<Integer> maxFrameSize = Optional.empty(); // in bytes
+  //HPACK dynamic table
+  private Optional<Integer> maxDecoderTableCapacity = Optional.empty(); // in bytes
+  private Optional<Integer> maxEncoderTableCapacity = Optional.empty(); // in bytes
+
+}
@@ -0,0 +1,30 @@
+package io.jdev.jetty;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * HTTP/3 over QUIC, uses same ssl properties as https. Connector is advertised with Alt-Svc on
+ * https connectors.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/19/24 4:12 PM
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+@JsonTypeName("http3")
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Http3Properties extends HttpsProperties {
+
+  //quiche needs key & certificates as pem files, when not set owner only temp directory is
+  //created & deleted at stop
+  private Optional<String> pemWorkDirectory = Optional.empty();
+  private Optional<Integer> altSvcMaxAge = Optional.empty(); // in seconds
+
+}
@@ -11,7 +11,7 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo.Id;
  */
 @JsonTypeInfo(use = Id.NAME, include = As.PROPERTY, property = "type")
 @JsonSubTypes(value = {@JsonSubTypes.Type(HttpProperties.class),
-    @JsonSubTypes.Type(HttpsProperties.class)})
+    @JsonSubTypes.Type(HttpsProperties.class), @JsonSubTypes.Type(Http3Properties.class)})
 public abstract class HttpConfigProperties {
 
 }
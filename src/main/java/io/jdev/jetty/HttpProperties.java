@@ -2,6 +2,7 @@ package io.jdev.jetty;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import java.util.List;
 import java.util.Optional;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -29,6 +30,11 @@ public class HttpProperties extends HttpConfigProperties {
   private Optional<Integer> outputBufferSize = Optional.empty();
   private Optional<Boolean> sendServerVersion = Optional.empty();
   private Optional<Boolean> sendDateHeader = Optional.empty();
+  private Optional<Boolean> useInputDirectByteBuffers = Optional.empty();
+  private Optional<Boolean> useOutputDirectByteBuffers = Optional.empty();
+  private Optional<Http2Properties> http2 = Optional.empty();
+  //request customizers in order : forwarded, host-header or customizer class name
+  private List<String> customizers;
 
   //todo: add serializers for jackson
   private UriCompliance uriCompliance = UriCompliance.DEFAULT;
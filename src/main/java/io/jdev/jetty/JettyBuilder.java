@@ -14,9 +14,11 @@ import java.util.Set;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.eclipse.jetty.ee10.servlet.DefaultServlet;
 import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
+import org.eclipse.jetty.ee10.servlet.ServletHolder;
 import org.eclipse.jetty.ee10.websocket.jakarta.server.config.JakartaWebSocketServletContainerInitializer;
 import org.eclipse.jetty.ee10.websocket.server.JettyWebSocketCreator;
 import org.eclipse.jetty.ee10.websocket.server.config.JettyWebSocketServletContainerInitializer;
+import org.eclipse.jetty.server.Handler;
 
 
 /**
@@ -37,14 +39,29 @@ public abstract class JettyBuilder {
     return new JettyWebSocketBuilderImpl();
   }
 
+  /**
+   * @param builder     configured builder, built on first request
+   * @param contextPath context path set on builder
+   * @param idleTimeout in milliseconds, context is unloaded after being idle that long, never when
+   *                    not positive
+   * @return placeholder context to register instead of built context
+   */
+  public static LazyContextHandler lazy(Builder<? extends Handler> builder, String contextPath,
+      long idleTimeout) {
+    return new LazyContextHandler(builder::build, contextPath, idleTimeout);
+  }
+
   public static class JettyServletBuilderImpl implements ServletBuilder<ServletContextHandler> {
 
     private final Map<Class<? extends Servlet>, String> servlets = new HashMap<>();
     private final Map<Class<? extends Filter>, String> filters = new HashMap<>();
     private final Map<Class<? extends Filter>, MutablePair<String, EnumSet<DispatcherType>>> filtersWithDispatchers = new HashMap<>();
     private final EnumSet<DispatcherType> defaultDispatchers = EnumSet.allOf(DispatcherType.class);
+    //default servlet init parameters
+    private final Map<String, String> defaultServletParams = new HashMap<>();
     private int options = 0;
     private String contextPath = "/";
+    private String baseResource;
 
     @Override
     public JettyServletBuilderImpl sessionOption() {
@@ -84,10 +101,47 @@ public abstract class JettyBuilder {
       return this;
     }
 
+    @Override
+    public JettyServletBuilderImpl baseResource(String baseResource) {
+      this.baseResource = baseResource;
+      return this;
+    }
+
+    @Override
+    public JettyServletBuilderImpl staticCache(int maxCachedFiles, int maxCacheSize,
+        int maxCachedFileSize) {
+      this.defaultServletParams.put("maxCachedFiles", String.valueOf(maxCachedFiles));
+      this.defaultServletParams.put("maxCacheSize", String.valueOf(maxCacheSize));
+      this.defaultServletParams.put("maxCachedFileSize", String.valueOf(maxCachedFileSize));
+      return this;
+    }
+
+    @Override
+    public JettyServletBuilderImpl precompressed(boolean precompressed) {
+      //brotli preferred over gzip
+      this.defaultServletParams.put("precompressed", precompressed ? "br=.br,gzip=.gz" : "false");
+      return this;
+    }
+
+    @Override
+    public JettyServletBuilderImpl fileMappedBuffer(boolean fileMappedBuffer) {
+      this.defaultServletParams.put("useFileMappedBuffer", String.valueOf(fileMappedBuffer));
+      return this;
+    }
+
+    @Override
+    public JettyServletBuilderImpl etags(boolean etags) {
+      this.defaultServletParams.put("etags", String.valueOf(etags));
+      return this;
+    }
+
     @Override
     public ServletContextHandler build() {
       ServletContextHandler context = new ServletContextHandler(options);
       context.setContextPath(contextPath);
+      if (baseResource != null) {
+        context.setBaseResourceAsString(baseResource);
+      }
 
       //Add servlets
       servlets.forEach((k, v) -> {
@@ -111,7 +165,8 @@ public abstract class JettyBuilder {
       });
 
       // Lastly, the default servlet for root content (always needed, to satisfy servlet spec)
-      context.addServlet(DefaultServlet.class, "/");
+      ServletHolder defaultServlet = context.addServlet(DefaultServlet.class, "/");
+      defaultServletParams.forEach(defaultServlet::setInitParameter);
       return context;
     }
   }
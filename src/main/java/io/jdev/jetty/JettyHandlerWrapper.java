@@ -1,6 +1,7 @@
 package io.jdev.jetty;
 
 import java.util.List;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.jetty.server.Handler;
 import org.eclipse.jetty.server.handler.ContextHandler;
@@ -58,6 +59,26 @@ public class JettyHandlerWrapper extends ContextHandler {
         connectorNames.stream().map(JettyHandlerWrapper::createVirtualHost).toList());
   }
 
+  /**
+   * @param factory     creates handler on first request
+   * @param contextPath jetty handler path
+   * @return placeholder context, handler is created & started on first request
+   */
+  public static LazyContextHandler lazy(Supplier<? extends Handler> factory, String contextPath) {
+    return new LazyContextHandler(factory, contextPath);
+  }
+
+  /**
+   * @param factory     creates handler on first request
+   * @param contextPath jetty handler path
+   * @param idleTimeout in milliseconds, handler is unloaded after being idle that long
+   * @return placeholder context, handler is created & started on first request
+   */
+  public static LazyContextHandler lazy(Supplier<? extends Handler> factory, String contextPath,
+      long idleTimeout) {
+    return new LazyContextHandler(factory, contextPath, idleTimeout);
+  }
+
   protected static String createVirtualHost(String connectorName) {
     char at = '@';
     if (StringUtils.isEmpty(connectorName)) {
@@ -0,0 +1,117 @@
+package io.jdev.jetty;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jetty.io.ArrayByteBufferPool;
+import org.eclipse.jetty.io.ByteBufferPool;
+import org.eclipse.jetty.io.ConnectionStatistics;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+/**
+ * Binds jetty components to a {@link MetricsRegistry}.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/14/24 7:01 PM
+ */
+public final class JettyMetrics {
+
+  private JettyMetrics() {
+  }
+
+  /**
+   * @param metricsProperties metrics config
+   * @return registry from configured class, {@link DefaultMetricsRegistry} when not set
+   */
+  public static MetricsRegistry createRegistry(MetricsProperties metricsProperties) {
+    if (metricsProperties.getRegistryClass().isEmpty()) {
+      return new DefaultMetricsRegistry();
+    }
+    String registryClass = metricsProperties.getRegistryClass().get();
+    try {
+      Class<?> clazz = Class.forName(registryClass, true,
+          Thread.currentThread().getContextClassLoader());
+      return (MetricsRegistry) clazz.getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | ClassCastException e) {
+      throw new JettyException("Unable to create metrics registry " + registryClass, e);
+    }
+  }
+
+  public static void bindThreadPool(MetricsRegistry registry, String name, ThreadPool threadPool) {
+    Map<String, String> labels = Map.of("pool", name == null ? "" : name);
+    registry.gauge("jetty_threads", "Threads in pool", labels, threadPool::getThreads);
+    registry.gauge("jetty_threads_idle", "Idle threads in pool", labels,
+        threadPool::getIdleThreads);
+    if (threadPool instanceof QueuedThreadPool pool) {
+      registry.gauge("jetty_threads_busy", "Busy threads in pool", labels,
+          pool::getBusyThreads);
+      registry.gauge("jetty_threads_max", "Max threads of pool", labels, pool::getMaxThreads);
+      registry.gauge("jetty_queue_size", "Jobs waiting in pool queue", labels,
+          pool::getQueueSize);
+    }
+    if (threadPool instanceof BoundedQueuedThreadPool pool) {
+      registry.gauge("jetty_queue_capacity", "Max jobs in pool queue", labels,
+          pool::getQueueCapacity);
+      registry.counter("jetty_queue_overflow_total", "Jobs over queue capacity",
+          withLabel(labels, "action", "rejected"), pool::getRejectedJobs);
+      registry.counter("jetty_queue_overflow_total", "Jobs over queue capacity",
+          withLabel(labels, "action", "caller_runs"), pool::getCallerRunsJobs);
+      registry.counter("jetty_queue_overflow_total", "Jobs over queue capacity",
+          withLabel(labels, "action", "shed"), pool::getShedJobs);
+    }
+  }
+
+  public static void bindBufferPool(MetricsRegistry registry, ByteBufferPool byteBufferPool) {
+    if (byteBufferPool instanceof ArrayByteBufferPool pool) {
+      registry.gauge("jetty_buffer_pool_memory_bytes", "Memory retained by buffer pool",
+          Map.of("type", "heap"), pool::getHeapMemory);
+      registry.gauge("jetty_buffer_pool_memory_bytes", "Memory retained by buffer pool",
+          Map.of("type", "direct"), pool::getDirectMemory);
+      registry.gauge("jetty_buffer_pool_buffers", "Buffers retained by buffer pool",
+          Map.of("type", "heap"), pool::getHeapByteBufferCount);
+      registry.gauge("jetty_buffer_pool_buffers", "Buffers retained by buffer pool",
+          Map.of("type", "direct"), pool::getDirectByteBufferCount);
+    }
+  }
+
+  /**
+   * @param connectorName label of connector, sibling listeners share statistics
+   * @param statistics    statistics added as bean to connector(s)
+   */
+  public static void bindConnectionStatistics(MetricsRegistry registry, String connectorName,
+      ConnectionStatistics statistics) {
+    Map<String, String> labels = Map.of("connector", connectorName);
+    registry.gauge("jetty_connections_open", "Open connections", labels,
+        statistics::getConnections);
+    registry.gauge("jetty_connections_max", "Max open connections", labels,
+        statistics::getConnectionsMax);
+    registry.counter("jetty_connections_total", "Opened connections", labels,
+        statistics::getConnectionsTotal);
+    registry.counter("jetty_received_bytes_total", "Bytes received", labels,
+        statistics::getReceivedBytes);
+    registry.counter("jetty_sent_bytes_total", "Bytes sent", labels,
+        statistics::getSentBytes);
+  }
+
+  public static void bindTlsHandshakes(MetricsRegistry registry, String connectorName,
+      List<TlsHandshakeStatistics> statistics) {
+    registry.counter("jetty_tls_handshakes_total", "TLS handshakes",
+        Map.of("connector", connectorName, "type", "full"),
+        () -> statistics.stream().mapToLong(TlsHandshakeStatistics::getFullHandshakes).sum());
+    registry.counter("jetty_tls_handshakes_total", "TLS handshakes",
+        Map.of("connector", connectorName, "type", "resumed"),
+        () -> statistics.stream().mapToLong(TlsHandshakeStatistics::getResumedHandshakes).sum());
+    registry.counter("jetty_tls_handshakes_total", "TLS handshakes",
+        Map.of("connector", connectorName, "type", "failed"),
+        () -> statistics.stream().mapToLong(TlsHandshakeStatistics::getFailedHandshakes).sum());
+  }
+
+  private static Map<String, String> withLabel(Map<String, String> labels, String name,
+      String value) {
+    Map<String, String> copy = new HashMap<>(labels);
+    copy.put(name, value);
+    return copy;
+  }
+
+}
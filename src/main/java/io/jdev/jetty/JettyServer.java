@@ -2,18 +2,27 @@ package io.jdev.jetty;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
 import org.eclipse.jetty.ee10.webapp.WebAppContext;
+import org.eclipse.jetty.io.ByteBufferPool;
+import org.eclipse.jetty.io.ConnectionStatistics;
+import org.eclipse.jetty.server.ConnectionLimit;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.LowResourceMonitor;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.handler.ContextHandler;
 import org.eclipse.jetty.server.handler.ContextHandlerCollection;
 import org.eclipse.jetty.server.handler.SecuredRedirectHandler;
-import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
+import org.eclipse.jetty.util.thread.ThreadPool;
 
 
 /**
@@ -26,11 +35,18 @@ public class JettyServer {
   protected final JettyServerProperties serverProperties;
   protected final ContextHandlerCollection contextHandlers;
   protected Server server;
+  protected MetricsRegistry metricsRegistry;
 
   public JettyServer(JettyServerProperties serverProperties,
       ContextHandlerCollection contextHandlers) {
     this.serverProperties = serverProperties;
     this.contextHandlers = contextHandlers;
+    //caller owns collection, its start strategy is kept
+    if (contextHandlers != null && serverProperties.getContextStartParallelism().orElse(0) > 1
+        && !(contextHandlers instanceof ParallelContextHandlerCollection)) {
+      log.warn("Context start parallelism ignored, {} supplied by caller starts contexts "
+          + "sequentially.", ContextHandlerCollection.class.getSimpleName());
+    }
   }
 
   public JettyServer(JettyServerProperties serverProperties, Handler... handlers) {
@@ -38,7 +54,7 @@ public class JettyServer {
     if (ArrayUtils.isEmpty(handlers)) {
       throw new IllegalArgumentException("Handler's can't be empty !");
     }
-    this.contextHandlers = new ContextHandlerCollection();
+    this.contextHandlers = createContextHandlerCollection(serverProperties);
     Arrays.stream(handlers).forEach(this.contextHandlers::addHandler);
   }
 
@@ -47,7 +63,8 @@ public class JettyServer {
     if (ArrayUtils.isEmpty(contextHandlers)) {
       throw new IllegalArgumentException("ContextHandler's can't be empty !");
     }
-    this.contextHandlers = new ContextHandlerCollection(contextHandlers);
+    this.contextHandlers = createContextHandlerCollection(serverProperties);
+    this.contextHandlers.setHandlers(contextHandlers);
   }
 
   public JettyServer(JettyServerProperties serverProperties, WebAppContext... webAppContexts) {
@@ -55,7 +72,7 @@ public class JettyServer {
     if (ArrayUtils.isEmpty(webAppContexts)) {
       throw new IllegalArgumentException("WebAppContexts can't be empty !");
     }
-    this.contextHandlers = new ContextHandlerCollection();
+    this.contextHandlers = createContextHandlerCollection(serverProperties);
     this.contextHandlers.setHandlers(webAppContexts);
   }
 
@@ -65,21 +82,34 @@ public class JettyServer {
     if (ArrayUtils.isEmpty(servletContextHandlers)) {
       throw new IllegalArgumentException("ServletContextHandlers can't be empty !");
     }
-    this.contextHandlers = new ContextHandlerCollection();
+    this.contextHandlers = createContextHandlerCollection(serverProperties);
     this.contextHandlers.setHandlers(servletContextHandlers);
   }
 
 
+  protected static ContextHandlerCollection createContextHandlerCollection(
+      JettyServerProperties serverProperties) {
+    int parallelism = serverProperties.getContextStartParallelism().orElse(0);
+    return parallelism > 1 ? new ParallelContextHandlerCollection(parallelism)
+        : new ContextHandlerCollection();
+  }
+
   private void bootstrap() {
     //Thread pool setup
-    final QueuedThreadPool threadPool = createThreadPool(this.serverProperties.getThreadPool());
+    final ThreadPool threadPool = createThreadPool(this.serverProperties.getThreadPool());
 
     //server setup
     this.server = createServer(threadPool, this.serverProperties);
 
+    //metrics setup
+    setupMetrics(this.server, threadPool, this.serverProperties);
+
     //connector setup
     createConnectors(this.server, this.serverProperties.getConnectors());
 
+    //connection & low resources limits
+    setupLimits(this.server, this.serverProperties.getLimits());
+
     //context handlers setup
     setupHandlers(this.server, this.contextHandlers, this.serverProperties);
 
@@ -90,16 +120,103 @@ public class JettyServer {
     if (contextHandlers == null) {
       log.warn("Context handlers not set.");
     } else {
-      server.setHandler(contextHandlers);
+      //webapp quickstart & jar scanning
+      setupWebApps(contextHandlers, jettyServerProperties.getWebApp());
+
+      Handler handler = contextHandlers;
+
+      //wrap context handlers with secured redirect, wrappers below stack on top of it
+      if (jettyServerProperties.getSecuredRedirect().orElse(false)) {
+        SecuredRedirectHandler securedRedirectHandler = new SecuredRedirectHandler();
+        securedRedirectHandler.setHandler(handler);
+        handler = securedRedirectHandler;
+      }
+
+      //wrap context handlers with compression
+      if (jettyServerProperties.isGzipEnabled()) {
+        GzipHandler gzipHandler = JettyServerUtils.createGzipHandler(server,
+            jettyServerProperties.getGzip(),
+            gzipExcludedConnectors(jettyServerProperties.getConnectors()));
+        gzipHandler.setHandler(handler);
+        handler = gzipHandler;
+      }
+
+      //wrap with load shedding
+      ConcurrencyLimitProperties concurrencyLimit = jettyServerProperties.getConcurrencyLimit();
+      if (concurrencyLimit != null && concurrencyLimit.isEnabled()) {
+        ConcurrencyLimitHandler limitHandler = new ConcurrencyLimitHandler(concurrencyLimit,
+            contextPaths(contextHandlers), isMetricsEnabled() ? this.metricsRegistry : null);
+        limitHandler.setHandler(handler);
+        handler = limitHandler;
+      }
+
+      //wrap with per client rate limit
+      RateLimitProperties rateLimit = jettyServerProperties.getRateLimit();
+      if (rateLimit != null && rateLimit.isEnabled()) {
+        RateLimitHandler rateLimitHandler = new RateLimitHandler(rateLimit);
+        if (isMetricsEnabled()) {
+          rateLimitHandler.bindMetrics(this.metricsRegistry);
+        }
+        rateLimitHandler.setHandler(handler);
+        handler = rateLimitHandler;
+      }
+
+      //wrap with request timing
+      if (isMetricsEnabled() && jettyServerProperties.getMetrics().isRequestTiming()) {
+        MetricsHandler metricsHandler = new MetricsHandler(this.metricsRegistry);
+        metricsHandler.setHandler(handler);
+        handler = metricsHandler;
+      }
+
+      //prometheus scrape endpoint, outside limiters & request timing
+      if (isMetricsEnabled()) {
+        PrometheusProperties prometheusProperties = jettyServerProperties.getMetrics()
+            .getPrometheus();
+        if (prometheusProperties != null && prometheusProperties.isEnabled()) {
+          handler = new Handler.Sequence(createPrometheusHandler(prometheusProperties), handler);
+        }
+      }
+      server.setHandler(handler);
+    }
+  }
+
+  protected ContextHandler createPrometheusHandler(PrometheusProperties prometheusProperties) {
+    if (!(this.metricsRegistry instanceof DefaultMetricsRegistry registry)) {
+      throw new JettyException("Prometheus endpoint requires " + DefaultMetricsRegistry.class
+          .getSimpleName() + " , found " + this.metricsRegistry.getClass().getName());
+    }
+    PrometheusHandler prometheusHandler = new PrometheusHandler(registry);
+    if (prometheusProperties.getConnectorName().isPresent()) {
+      return new JettyHandlerWrapper(prometheusHandler, prometheusProperties.getPath(),
+          prometheusProperties.getConnectorName().get());
+    }
+    return new JettyHandlerWrapper(prometheusHandler, prometheusProperties.getPath());
+  }
+
+  protected List<String> contextPaths(ContextHandlerCollection contextHandlers) {
+    return contextHandlers.getHandlers().stream()
+        .filter(ContextHandler.class::isInstance)
+        .map(contextHandler -> ((ContextHandler) contextHandler).getContextPath())
+        .filter(Objects::nonNull)
+        .distinct()
+        .toList();
+  }
 
-      //set handler to secured redirect
-      if (jettyServerProperties.getSecuredRedirect().isPresent()) {
-        Boolean securedRedirect = jettyServerProperties.getSecuredRedirect().get();
-        if (securedRedirect) {
-          server.setHandler(new SecuredRedirectHandler());
+  protected Set<String> gzipExcludedConnectors(
+      List<ConnectorProperties> connectorPropertiesList) {
+    Set<String> excluded = new HashSet<>();
+    if (connectorPropertiesList == null) {
+      return excluded;
+    }
+    for (ConnectorProperties connectorProperties : connectorPropertiesList) {
+      if (!connectorProperties.isGzipEnabled()) {
+        if (StringUtils.isEmpty(connectorProperties.getName())) {
+          throw new JettyException("Connector name is required to disable gzip on connector.");
         }
+        excluded.add(connectorProperties.getName());
       }
     }
+    return excluded;
   }
 
   protected void createConnectors(Server server,
@@ -112,19 +229,121 @@ public class JettyServer {
       throw new JettyException("Connector properties can't be null.");
     }
     List<Connector> connectors = new ArrayList<>();
+    List<String> altSvc = new ArrayList<>();
 
     for (int i = 0, len = connectorPropertiesList.size(); i < len; i++) {
       ConnectorProperties connectorProperties = connectorPropertiesList.get(i);
-      connectors.add(JettyServerUtils.createServerConnector(server, connectorProperties));
+      List<Connector> siblings = JettyServerUtils.createServerConnectors(server,
+          connectorProperties);
+      if (isMetricsEnabled()) {
+        String connectorName = StringUtils.isEmpty(connectorProperties.getName())
+            ? "connector-" + i : connectorProperties.getName();
+        bindConnectorMetrics(connectorName, connectorProperties, siblings);
+      }
+      if (connectorProperties.getMaxConnections().isPresent()) {
+        server.addBean(new ConnectionLimit(connectorProperties.getMaxConnections().get(),
+            siblings.toArray(new Connector[0])));
+      }
+      if (connectorProperties.getHttpConfig().orElse(null) instanceof Http3Properties http3) {
+        altSvc.add(JettyServerUtils.altSvcValue(connectorProperties, http3));
+      }
+      connectors.addAll(siblings);
+    }
+    //advertise http3 connectors on https connectors
+    if (!altSvc.isEmpty()) {
+      JettyServerUtils.advertiseAltSvc(connectors, String.join(", ", altSvc));
     }
     //add all connectors to server
     server.setConnectors(connectors.toArray(new Connector[0]));
   }
 
 
-  protected Server createServer(QueuedThreadPool threadPool,
+  protected void setupWebApps(ContextHandlerCollection contextHandlers,
+      WebAppProperties webAppProperties) {
+    if (webAppProperties == null) {
+      return;
+    }
+    for (Handler handler : contextHandlers.getHandlers()) {
+      if (handler instanceof WebAppContext webAppContext) {
+        JettyServerUtils.configureWebApp(webAppContext, webAppProperties);
+      }
+    }
+  }
+
+  protected void setupLimits(Server server, LimitsProperties limitsProperties) {
+    if (limitsProperties == null) {
+      return;
+    }
+    if (limitsProperties.getMaxConnections().isPresent()) {
+      ConnectionLimit connectionLimit = new ConnectionLimit(
+          limitsProperties.getMaxConnections().get(), server);
+      limitsProperties.getLimitedIdleTimeout().ifPresent(connectionLimit::setIdleTimeout);
+      server.addBean(connectionLimit);
+    }
+
+    LowResourcesProperties lowResources = limitsProperties.getLowResources();
+    if (lowResources != null && lowResources.isEnabled()) {
+      LowResourceMonitor monitor = new LowResourceMonitor(server);
+      monitor.setMonitorThreads(lowResources.isMonitorThreads());
+      lowResources.getMaxMemory().ifPresent(monitor::setMaxMemory);
+      monitor.setLowResourcesIdleTimeout(lowResources.getLowResourcesIdleTimeout());
+      monitor.setPeriod(lowResources.getPeriod());
+      monitor.setMaxLowResourcesTime(lowResources.getMaxLowResourcesTime());
+      monitor.setAcceptingInLowResources(lowResources.isAcceptingInLowResources());
+      server.addBean(monitor);
+    }
+  }
+
+  protected void setupMetrics(Server server, ThreadPool threadPool,
+      JettyServerProperties jettyServerProperties) {
+    if (!isMetricsEnabled()) {
+      return;
+    }
+    if (this.metricsRegistry == null) {
+      this.metricsRegistry = JettyMetrics.createRegistry(jettyServerProperties.getMetrics());
+    }
+    JettyMetrics.bindThreadPool(this.metricsRegistry,
+        jettyServerProperties.getThreadPool().poolName(), threadPool);
+    JettyMetrics.bindBufferPool(this.metricsRegistry, server.getByteBufferPool());
+  }
+
+  protected void bindConnectorMetrics(String connectorName,
+      ConnectorProperties connectorProperties, List<Connector> siblings) {
+    //siblings share statistics, so they are reported as one connector
+    if (this.serverProperties.getMetrics().isConnectionStatistics()) {
+      ConnectionStatistics statistics = new ConnectionStatistics();
+      siblings.forEach(connector -> connector.addBean(statistics));
+      JettyMetrics.bindConnectionStatistics(this.metricsRegistry, connectorName, statistics);
+    }
+
+    //https siblings share handshake statistics
+    List<TlsHandshakeStatistics> handshakeStatistics = siblings.stream()
+        .map(connector -> connector.getBean(TlsHandshakeStatistics.class))
+        .filter(Objects::nonNull)
+        .distinct()
+        .toList();
+    if (!handshakeStatistics.isEmpty()) {
+      JettyMetrics.bindTlsHandshakes(this.metricsRegistry, connectorName, handshakeStatistics);
+    }
+
+    //dedicated connector executor, shared by siblings
+    if (connectorProperties.getThreadPool() != null
+        && siblings.get(0).getExecutor() instanceof ThreadPool pool) {
+      JettyMetrics.bindThreadPool(this.metricsRegistry,
+          connectorProperties.getThreadPool().poolName(), pool);
+    }
+  }
+
+  protected boolean isMetricsEnabled() {
+    return this.serverProperties.getMetrics() != null
+        && this.serverProperties.getMetrics().isEnabled();
+  }
+
+  protected Server createServer(ThreadPool threadPool,
       JettyServerProperties jettyServerProperties) {
-    Server server = new Server(threadPool);
+    ByteBufferPool bufferPool = JettyServerUtils.createByteBufferPool(
+        jettyServerProperties.getBufferPool());
+    Server server = new Server(threadPool, null, bufferPool);
     server.setDumpAfterStart(jettyServerProperties.isDumpAfterStart());
     server.setDumpBeforeStop(jettyServerProperties.isDumpBeforeStop());
     server.setStopAtShutdown(jettyServerProperties.isStopAtShutdown());
@@ -132,18 +351,21 @@ public class JettyServer {
     return server;
   }
 
-  protected QueuedThreadPool createThreadPool(ThreadPoolProperties threadPoolProperties) {
-    QueuedThreadPool threadPool = new QueuedThreadPool();
-    threadPool.setName(threadPoolProperties.poolName());
-    threadPool.setDaemon(threadPoolProperties.daemonThreads());
-    threadPool.setMinThreads(threadPoolProperties.minThreads());
-    threadPool.setMaxThreads(threadPoolProperties.maxThreads());
-    threadPool.setReservedThreads(threadPoolProperties.reservedThreads());
-    threadPool.setIdleTimeout(threadPoolProperties.idleTimeout());
-    threadPool.setStopTimeout(threadPoolProperties.stopTimeout());
-    return threadPool;
+  protected ThreadPool createThreadPool(ThreadPoolProperties threadPoolProperties) {
+    return JettyServerUtils.createThreadPool(threadPoolProperties);
+  }
+
+
+  public MetricsRegistry getMetricsRegistry() {
+    return metricsRegistry;
   }
 
+  /**
+   * @param metricsRegistry registry used instead of configured one, must be set before start
+   */
+  public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+    this.metricsRegistry = metricsRegistry;
+  }
 
   public void start() throws Exception {
     bootstrap();
@@ -161,6 +383,11 @@ public class JettyServer {
 
   public void stop() throws Exception {
     if (server != null) {
+      BufferPoolProperties bufferPoolProperties = serverProperties.getBufferPool();
+      if (bufferPoolProperties != null && bufferPoolProperties.isDumpStatistics()) {
+        log.info("Buffer pool statistics : {}",
+            JettyServerUtils.getBufferPoolStatistics(server.getByteBufferPool()));
+      }
       server.stop();
     }
   }
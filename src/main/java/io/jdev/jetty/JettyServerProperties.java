@@ -20,8 +20,18 @@ public class JettyServerProperties {
   protected boolean stopAtShutdown;
   protected long stopTimeout;
   protected boolean gzipEnabled;
+  protected GzipProperties gzip;
   protected Optional<Boolean> securedRedirect = Optional.empty();
   protected ThreadPoolProperties threadPool;
+  protected BufferPoolProperties bufferPool;
   protected List<ConnectorProperties> connectors;
+  protected MetricsProperties metrics;
+  protected ConcurrencyLimitProperties concurrencyLimit;
+  protected RateLimitProperties rateLimit;
+  protected LimitsProperties limits;
+  protected WebAppProperties webApp;
+  //contexts started concurrently, sequential start when empty. Not applied to a
+  //ContextHandlerCollection passed to JettyServer, use ParallelContextHandlerCollection there
+  protected Optional<Integer> contextStartParallelism = Optional.empty();
 
 }
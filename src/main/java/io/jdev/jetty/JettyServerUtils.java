@@ -1,40 +1,95 @@
 package io.jdev.jetty;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.zip.Deflater;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
+import org.eclipse.jetty.ee10.quickstart.QuickStartConfiguration;
+import org.eclipse.jetty.ee10.webapp.MetaInfConfiguration;
+import org.eclipse.jetty.ee10.webapp.WebAppContext;
 import org.eclipse.jetty.http.HttpVersion;
+import org.eclipse.jetty.http2.server.AbstractHTTP2ServerConnectionFactory;
 import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
 import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
+import org.eclipse.jetty.http3.server.HTTP3ServerConnectionFactory;
+import org.eclipse.jetty.http3.server.HTTP3ServerConnector;
+import org.eclipse.jetty.io.ArrayByteBufferPool;
+import org.eclipse.jetty.io.ByteBufferPool;
+import org.eclipse.jetty.server.ConnectionFactory;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.ForwardedRequestCustomizer;
+import org.eclipse.jetty.server.HostHeaderCustomizer;
 import org.eclipse.jetty.server.HttpConfiguration;
 import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.ProxyConnectionFactory;
 import org.eclipse.jetty.server.SecureRequestCustomizer;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.SslConnectionFactory;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
+import org.eclipse.jetty.unixdomain.server.UnixDomainServerConnector;
+import org.eclipse.jetty.util.IO;
+import org.eclipse.jetty.util.VirtualThreads;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.eclipse.jetty.util.compression.DeflaterPool;
 import org.eclipse.jetty.util.resource.Resource;
 import org.eclipse.jetty.util.resource.ResourceFactory;
 import org.eclipse.jetty.util.resource.Resources;
+import org.eclipse.jetty.util.ssl.KeyStoreScanner;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+import org.eclipse.jetty.util.thread.VirtualThreadPool;
 
 
 /**
  * @author gentjan kolicaj
  * @Date: 12/4/24 3:06 PM
  */
+@Slf4j
 public final class JettyServerUtils {
 
   private static final long DEFAULT_TIMEOUT = TimeUnit.SECONDS.toMillis(5);
+  private static final int DEFAULT_DEFLATER_POOL_CAPACITY = 1024;
+  private static final String FILE_PREFIX = "file:";
+  private static final String FORWARDED_CUSTOMIZER = "forwarded";
+  private static final String HOST_HEADER_CUSTOMIZER = "host-header";
 
   private JettyServerUtils() {
   }
 
 
+  /**
+   * Keystore is looked up on filesystem when path is absolute or has file: prefix, otherwise on
+   * classpath.
+   */
   static Resource findKeyStore(String resourceName, ResourceFactory resourceFactory) {
-    Resource resource = resourceFactory.newClassLoaderResource(resourceName);
+    Resource resource;
+    if (StringUtils.startsWith(resourceName, FILE_PREFIX)) {
+      resource = resourceFactory.newResource(URI.create(resourceName));
+    } else if (resourceName != null && Path.of(resourceName).isAbsolute()) {
+      resource = resourceFactory.newResource(Path.of(resourceName));
+    } else {
+      resource = resourceFactory.newClassLoaderResource(resourceName);
+    }
     if (!Resources.isReadableFile(resource)) {
       throw new JettyException("Unable to read " + resourceName);
     }
@@ -49,12 +104,135 @@ public final class JettyServerUtils {
     return timeoutProperties.timeUnit().toMillis(timeoutProperties.duration());
   }
 
-  public static ServerConnector createServerConnector(Server server,
+  /**
+   * Creates thread pool for given executor mode. Virtual thread modes fall back to platform
+   * threads when runtime doesn't support virtual threads (Ex: java 17).
+   *
+   * @param threadPoolProperties thread pool config
+   * @return thread pool
+   */
+  public static ThreadPool createThreadPool(ThreadPoolProperties threadPoolProperties) {
+    ExecutorMode executorMode = threadPoolProperties.executorMode();
+    if (executorMode != ExecutorMode.PLATFORM && !VirtualThreads.isSupported()) {
+      log.warn("Virtual threads not supported by java {}, executor mode {} falls back to {}.",
+          Runtime.version().feature(), executorMode, ExecutorMode.PLATFORM);
+      executorMode = ExecutorMode.PLATFORM;
+    }
+
+    if (executorMode == ExecutorMode.VIRTUAL) {
+      warnIgnoredVirtualSettings(threadPoolProperties);
+      VirtualThreadPool threadPool = new VirtualThreadPool();
+      threadPool.setName(threadPoolProperties.poolName());
+      threadPool.setMaxThreads(threadPoolProperties.maxThreads());
+      return threadPool;
+    }
+
+    QueuedThreadPool threadPool;
+    if (threadPoolProperties.queueCapacity() > 0) {
+      threadPool = new BoundedQueuedThreadPool(threadPoolProperties.queueCapacity(),
+          threadPoolProperties.overflowPolicy());
+    } else {
+      threadPool = new QueuedThreadPool();
+    }
+    threadPool.setName(threadPoolProperties.poolName());
+    threadPool.setDaemon(threadPoolProperties.daemonThreads());
+    threadPool.setMinThreads(threadPoolProperties.minThreads());
+    threadPool.setMaxThreads(threadPoolProperties.maxThreads());
+    threadPool.setReservedThreads(threadPoolProperties.reservedThreads());
+    threadPool.setIdleTimeout(threadPoolProperties.idleTimeout());
+    threadPool.setStopTimeout(threadPoolProperties.stopTimeout());
+
+    //selectors & non-blocking tasks stay on platform threads, blocking handling goes virtual
+    if (executorMode == ExecutorMode.HYBRID) {
+      threadPool.setVirtualThreadsExecutor(VirtualThreads.getDefaultVirtualThreadsExecutor());
+    }
+    return threadPool;
+  }
+
+  /**
+   * Virtual thread pool has no pooled threads nor queue, only name & max threads apply.
+   */
+  private static void warnIgnoredVirtualSettings(ThreadPoolProperties threadPoolProperties) {
+    List<String> ignored = new ArrayList<>();
+    if (threadPoolProperties.daemonThreads()) {
+      ignored.add("daemonThreads");
+    }
+    if (threadPoolProperties.minThreads() > 0) {
+      ignored.add("minThreads");
+    }
+    if (threadPoolProperties.reservedThreads() > 0) {
+      ignored.add("reservedThreads");
+    }
+    if (threadPoolProperties.idleTimeout() > 0) {
+      ignored.add("idleTimeout");
+    }
+    if (threadPoolProperties.stopTimeout() > 0) {
+      ignored.add("stopTimeout");
+    }
+    if (threadPoolProperties.queueCapacity() > 0) {
+      ignored.add("queueCapacity");
+    }
+    if (!ignored.isEmpty()) {
+      log.warn("Thread pool '{}' in executor mode {} ignores {}.", threadPoolProperties.poolName(),
+          ExecutorMode.VIRTUAL, ignored);
+    }
+  }
+
+  /**
+   * @param bufferPoolProperties buffer pool config
+   * @return buffer pool or null when not configured, so jetty default pool is used
+   */
+  public static ByteBufferPool createByteBufferPool(BufferPoolProperties bufferPoolProperties) {
+    if (bufferPoolProperties == null) {
+      return null;
+    }
+    int minCapacity = bufferPoolProperties.getMinCapacity().orElse(0);
+    int maxCapacity = bufferPoolProperties.getMaxCapacity().orElse(-1);
+    int maxBucketSize = bufferPoolProperties.getMaxBucketSize().orElse(Integer.MAX_VALUE);
+    long maxHeapMemory = bufferPoolProperties.getMaxHeapMemory().orElse(0L);
+    long maxDirectMemory = bufferPoolProperties.getMaxDirectMemory().orElse(0L);
+
+    BufferPoolType type = Objects.requireNonNullElse(bufferPoolProperties.getType(),
+        BufferPoolType.ARRAY);
+    return switch (type) {
+      case NON_POOLING -> new ByteBufferPool.NonPooling();
+      case QUADRATIC -> new ArrayByteBufferPool.Quadratic(minCapacity, maxCapacity,
+          maxBucketSize, maxHeapMemory, maxDirectMemory);
+      case ARRAY -> new ArrayByteBufferPool(minCapacity,
+          bufferPoolProperties.getFactor().orElse(-1), maxCapacity, maxBucketSize,
+          maxHeapMemory, maxDirectMemory);
+    };
+  }
+
+  /**
+   * @param byteBufferPool server buffer pool
+   * @return retained memory & buffer counts of pool
+   */
+  public static String getBufferPoolStatistics(ByteBufferPool byteBufferPool) {
+    if (byteBufferPool instanceof ArrayByteBufferPool pool) {
+      return String.format(
+          "heapMemory=%d, directMemory=%d, availableHeapMemory=%d, availableDirectMemory=%d, "
+              + "heapBuffers=%d, directBuffers=%d, availableHeapBuffers=%d, "
+              + "availableDirectBuffers=%d",
+          pool.getHeapMemory(), pool.getDirectMemory(), pool.getAvailableHeapMemory(),
+          pool.getAvailableDirectMemory(), pool.getHeapByteBufferCount(),
+          pool.getDirectByteBufferCount(), pool.getAvailableHeapByteBufferCount(),
+          pool.getAvailableDirectByteBufferCount());
+    }
+    return String.valueOf(byteBufferPool);
+  }
+
+  public static Connector createServerConnector(Server server,
       ConnectorProperties connectorProperties) {
     Optional<HttpConfigProperties> optionalHttpConfig = connectorProperties.getHttpConfig();
     if (optionalHttpConfig.isPresent()) {
       HttpConfigProperties abstractProperties = optionalHttpConfig.get();
-      if (abstractProperties instanceof HttpsProperties) {
+      if (connectorProperties.getUnixDomainPath().isPresent()) {
+        return createUnixDomainConnector(server, connectorProperties, abstractProperties);
+      } else if (abstractProperties instanceof Http3Properties) {
+        return createHttp3Connector(server, connectorProperties,
+            (Http3Properties) abstractProperties);
+      } else if (abstractProperties instanceof HttpsProperties) {
         return createHttpsConnector(server, connectorProperties,
             (HttpsProperties) abstractProperties);
       } else if (abstractProperties instanceof HttpProperties) {
@@ -62,7 +240,7 @@ public final class JettyServerUtils {
             (HttpProperties) abstractProperties);
       } else {
         throw new IllegalArgumentException(
-            "Protocol 'type' unknown.It must be 'http' or 'https' !!!");
+            "Protocol 'type' unknown.It must be 'http', 'https' or 'http3' !!!");
       }
     } else {
       throw new IllegalArgumentException(
@@ -71,11 +249,116 @@ public final class JettyServerUtils {
   }
 
 
+  /**
+   * Creates connectors for one logical connector. With more than one listener, sibling connectors
+   * bind the same host/port with SO_REUSEPORT, each with its own acceptors & selectors, so the
+   * kernel balances accepted connections across them. Connector thread pool is shared by siblings,
+   * it is managed by server.
+   *
+   * @param server              jetty server
+   * @param connectorProperties connector config
+   * @return connector siblings
+   */
+  public static List<Connector> createServerConnectors(Server server,
+      ConnectorProperties connectorProperties) {
+    int listeners = connectorProperties.getListeners();
+    if (listeners <= 1) {
+      return List.of(createServerConnector(server, connectorProperties));
+    }
+    if (connectorProperties.getUnixDomainPath().isPresent()) {
+      throw new JettyException(
+          "Multiple listeners are not supported for unix domain connector : "
+              + connectorProperties.getName());
+    }
+    if (connectorProperties.getPort() == 0) {
+      throw new JettyException(
+          "Port is required for connector with multiple listeners : "
+              + connectorProperties.getName());
+    }
+    if (connectorProperties.getHttpConfig().orElse(null) instanceof Http3Properties) {
+      throw new JettyException(
+          "Multiple listeners are not supported for http3 connector : "
+              + connectorProperties.getName());
+    }
+
+    //siblings share ssl context factory, so they share tls session cache & handshake statistics
+    SslContextFactory.Server sslContextFactory = null;
+    TlsHandshakeStatistics handshakeStatistics = null;
+    HttpsProperties httpsProperties = null;
+    HttpProperties httpProperties = null;
+    Optional<HttpConfigProperties> optionalHttpConfig = connectorProperties.getHttpConfig();
+    if (optionalHttpConfig.isPresent()
+        && optionalHttpConfig.get() instanceof HttpsProperties properties
+        && properties.getSsl().isPresent()) {
+      httpsProperties = properties;
+      sslContextFactory = createSSLContextFactory(server, properties.getSsl().get());
+      handshakeStatistics = new TlsHandshakeStatistics();
+    } else if (optionalHttpConfig.isPresent()
+        && !(optionalHttpConfig.get() instanceof HttpsProperties)
+        && optionalHttpConfig.get() instanceof HttpProperties properties) {
+      httpProperties = properties;
+    }
+    //one pool for all siblings, started before connectors & stopped after them by server
+    Executor executor = newConnectorExecutor(connectorProperties);
+    if (executor != null) {
+      server.addBean(executor, true);
+    }
+
+    List<Connector> connectors = new ArrayList<>(listeners);
+    for (int i = 0; i < listeners; i++) {
+      ServerConnector connector;
+      if (httpsProperties != null) {
+        connector = createHttpsConnector(server, connectorProperties, httpsProperties,
+            sslContextFactory, executor);
+        connector.addBean(handshakeStatistics);
+      } else if (httpProperties != null) {
+        connector = createHttpConnector(server, connectorProperties, httpProperties, executor);
+      } else {
+        connector = (ServerConnector) createServerConnector(server, connectorProperties);
+      }
+      connector.setReusePort(true);
+      connectors.add(connector);
+    }
+    return connectors;
+  }
+
+
   public static ServerConnector createHttpConnector(Server server,
       ConnectorProperties connectorProps,
       HttpProperties httpProperties) {
+    return createHttpConnector(server, connectorProps, httpProperties,
+        newConnectorExecutor(connectorProps));
+  }
+
+  /**
+   * @param executor connector executor, server thread pool when null
+   */
+  static ServerConnector createHttpConnector(Server server, ConnectorProperties connectorProps,
+      HttpProperties httpProperties, Executor executor) {
     HttpConfiguration httpConfig = createHttpConfiguration(httpProperties);
-    ServerConnector connector;
+    ServerConnector connector = newServerConnector(server, executor, connectorProps,
+        createHttpConnectionFactories(httpConfig, httpProperties));
+
+    if (StringUtils.isNotEmpty(connectorProps.getName())) {
+      connector.setName(connectorProps.getName());
+    }
+    if (StringUtils.isNotEmpty(connectorProps.getHost())) {
+      connector.setHost(connectorProps.getHost());
+    }
+    if (connectorProps.getPort() != 0) {
+      connector.setPort(connectorProps.getPort());
+    }
+    connector.setIdleTimeout(JettyServerUtils.getTimeout(connectorProps.getIdleTimeout()));
+    configureSocket(connector, connectorProps);
+    return connector;
+  }
+
+  /**
+   * @return http/1.1 and clear-text http/2 factories for configured http version
+   */
+  private static ConnectionFactory[] createHttpConnectionFactories(HttpConfiguration httpConfig,
+      HttpProperties httpProperties) {
+    ConnectionFactory[] factories;
     //When http version is not specified or unknown , http/1.1 & http/2 is default
     if (httpProperties.getVersion().isPresent()) {
       HttpVersion httpVersion = httpProperties.getVersion().get();
@@ -85,8 +368,7 @@ public final class JettyServerUtils {
         // The ConnectionFactory for HTTP/1.1.
         HttpConnectionFactory http11 = new HttpConnectionFactory(httpConfig);
 
-        // The ServerConnector instance.
-        connector = new ServerConnector(server, http11);
+        factories = new ConnectionFactory[]{http11};
       } else if (HttpVersion.HTTP_2.equals(httpVersion)) {
         //Because of :
         //  java.io.IOException: protocol_error/invalid_preface
@@ -96,18 +378,18 @@ public final class JettyServerUtils {
 
         // The ConnectionFactory for clear-text HTTP/2.
         HTTP2CServerConnectionFactory http2 = new HTTP2CServerConnectionFactory(httpConfig);
+        configureHttp2(http2, httpProperties);
 
-        //http connector
-        connector = new ServerConnector(server, http11, http2);
+        factories = new ConnectionFactory[]{http11, http2};
       } else {
         // The ConnectionFactory for HTTP/1.1.
         HttpConnectionFactory http11 = new HttpConnectionFactory(httpConfig);
 
         // The ConnectionFactory for clear-text HTTP/2.
         HTTP2CServerConnectionFactory http2 = new HTTP2CServerConnectionFactory(httpConfig);
+        configureHttp2(http2, httpProperties);
 
-        //http connector
-        connector = new ServerConnector(server, http11, http2);
+        factories = new ConnectionFactory[]{http11, http2};
       }
 
     } else {
@@ -116,24 +398,78 @@ public final class JettyServerUtils {
 
       // The ConnectionFactory for clear-text HTTP/2.
       HTTP2CServerConnectionFactory http2 = new HTTP2CServerConnectionFactory(httpConfig);
+      configureHttp2(http2, httpProperties);
+
+      factories = new ConnectionFactory[]{http11, http2};
+    }
+    return factories;
+  }
 
-      //http connector
-      connector = new ServerConnector(server, http11, http2);
+  /**
+   * Creates connector bound to a unix domain socket, with same http/1.1 and h2c factories as tcp
+   * http connector. Used for local proxy (Ex: sidecar) traffic.
+   */
+  public static UnixDomainServerConnector createUnixDomainConnector(Server server,
+      ConnectorProperties connectorProps, HttpConfigProperties httpConfigProperties) {
+    if (httpConfigProperties instanceof HttpsProperties
+        || !(httpConfigProperties instanceof HttpProperties httpProperties)) {
+      throw new JettyException("Unix domain connector supports only 'http' type : "
+          + connectorProps.getName());
     }
+    HttpConfiguration httpConfig = createHttpConfiguration(httpProperties);
+    ConnectionFactory[] factories = withProxyProtocol(connectorProps,
+        createHttpConnectionFactories(httpConfig, httpProperties));
+    UnixDomainServerConnector connector = new UnixDomainServerConnector(server,
+        newConnectorExecutor(connectorProps), null, null, connectorProps.getAcceptors(),
+        connectorProps.getSelectors(), factories);
+    connector.setUnixDomainPath(Path.of(connectorProps.getUnixDomainPath().get()));
 
     if (StringUtils.isNotEmpty(connectorProps.getName())) {
       connector.setName(connectorProps.getName());
     }
-    if (StringUtils.isNotEmpty(connectorProps.getHost())) {
-      connector.setHost(connectorProps.getHost());
-    }
-    if (connectorProps.getPort() != 0) {
-      connector.setPort(connectorProps.getPort());
-    }
     connector.setIdleTimeout(JettyServerUtils.getTimeout(connectorProps.getIdleTimeout()));
+    connectorProps.getAcceptQueueSize().ifPresent(connector::setAcceptQueueSize);
     return connector;
   }
 
+  /**
+   * Creates server connector with given dedicated executor, when null server thread pool is
+   * shared.
+   */
+  private static ServerConnector newServerConnector(Server server, Executor executor,
+      ConnectorProperties connectorProps, ConnectionFactory... factories) {
+    return new ServerConnector(server, executor, null, null,
+        connectorProps.getAcceptors(), connectorProps.getSelectors(),
+        withProxyProtocol(connectorProps, factories));
+  }
+
+  /**
+   * Prepends PROXY protocol (v1 & v2) factory when enabled, so client address sent by load
+   * balancer is used as remote address.
+   */
+  private static ConnectionFactory[] withProxyProtocol(ConnectorProperties connectorProps,
+      ConnectionFactory[] factories) {
+    if (!connectorProps.isProxyProtocol()) {
+      return factories;
+    }
+    ProxyConnectionFactory proxy = new ProxyConnectionFactory(factories[0].getProtocol());
+    return ArrayUtils.insert(0, factories, proxy);
+  }
+
+  private static Executor newConnectorExecutor(ConnectorProperties connectorProps) {
+    if (connectorProps.getThreadPool() != null) {
+      return createThreadPool(connectorProps.getThreadPool());
+    }
+    return null;
+  }
+
+  private static void configureSocket(ServerConnector connector,
+      ConnectorProperties connectorProps) {
+    connectorProps.getAcceptQueueSize().ifPresent(connector::setAcceptQueueSize);
+    connectorProps.getReuseAddress().ifPresent(connector::setReuseAddress);
+    connectorProps.getReusePort().ifPresent(connector::setReusePort);
+  }
+
   private static HttpConfiguration createHttpConfiguration(HttpProperties httpProperties) {
     HttpConfiguration httpConfig = new HttpConfiguration();
 
@@ -143,12 +479,18 @@ public final class JettyServerUtils {
     httpProperties.getResponseHeaderSize().ifPresent(httpConfig::setResponseHeaderSize);
     httpProperties.getSendServerVersion().ifPresent(httpConfig::setSendServerVersion);
     httpProperties.getSendDateHeader().ifPresent(httpConfig::setSendDateHeader);
+    httpProperties.getUseInputDirectByteBuffers()
+        .ifPresent(httpConfig::setUseInputDirectByteBuffers);
+    httpProperties.getUseOutputDirectByteBuffers()
+        .ifPresent(httpConfig::setUseOutputDirectByteBuffers);
 
     //compliance
     httpConfig.setHttpCompliance(httpProperties.getHttpCompliance());
     httpConfig.setUriCompliance(httpProperties.getUriCompliance());
     httpConfig.setRequestCookieCompliance(httpProperties.getRequestCookieCompliance());
     httpConfig.setResponseCookieCompliance(httpProperties.getResponseCookieCompliance());
+
+    addCustomizers(httpConfig, httpProperties.getCustomizers());
     return httpConfig;
   }
 
@@ -157,6 +499,21 @@ public final class JettyServerUtils {
 
   public static ServerConnector createHttpsConnector(Server server,
       ConnectorProperties connectorProperties, HttpsProperties httpsProperties) {
+    ServerConnector connector = createHttpsConnector(server, connectorProperties,
+        httpsProperties, null, newConnectorExecutor(connectorProperties));
+    connector.addBean(new TlsHandshakeStatistics());
+    return connector;
+  }
+
+  /**
+   * Handshake statistics bean is added by caller, so siblings can share one.
+   *
+   * @param sslContextFactory shared ssl context factory, created from ssl properties when null
+   * @param executor          connector executor, server thread pool when null
+   */
+  static ServerConnector createHttpsConnector(Server server,
+      ConnectorProperties connectorProperties, HttpsProperties httpsProperties,
+      SslContextFactory.Server sslContextFactory, Executor executor) {
     HttpConfiguration httpsConfig = createHttpsConfiguration(httpsProperties);
     // Add the SecureRequestCustomizer because TLS is used.
     // Note: disabled sniHostCheck
@@ -169,7 +526,9 @@ public final class JettyServerUtils {
       SSLProperties sslProperties = optionalSSL.get();
 
       // SSL Context Factory
-      SslContextFactory.Server sslContextFactory = createSSLContextFactory(server, sslProperties);
+      if (sslContextFactory == null) {
+        sslContextFactory = createSSLContextFactory(server, sslProperties);
+      }
 
       //==========================================================================
       //when https version is not specified/unknown, http/1.1 & http/2 is default
@@ -186,11 +545,12 @@ public final class JettyServerUtils {
               http11.getProtocol());
 
           // The ServerConnector instance.
-          connector = new ServerConnector(server, tls, http11);
+          connector = newServerConnector(server, executor, connectorProperties, tls, http11);
         } else if (HttpVersion.HTTP_2.equals(httpVersion)) {
 
           // The ConnectionFactory for HTTP/2.
           HTTP2ServerConnectionFactory h2 = new HTTP2ServerConnectionFactory(httpsConfig);
+          configureHttp2(h2, httpsProperties);
 
           // The ALPN ConnectionFactory.
           ALPNServerConnectionFactory alpn = new ALPNServerConnectionFactory();
@@ -202,33 +562,105 @@ public final class JettyServerUtils {
               alpn.getProtocol());
 
           // The ServerConnector instance.
-          connector = new ServerConnector(server, tls, alpn, h2);
+          connector = newServerConnector(server, executor, connectorProperties, tls, alpn, h2);
         } else {
           // Configure the Connector to speak HTTP/1.1 and HTTP/2.
           HttpConnectionFactory http11 = new HttpConnectionFactory(httpsConfig);
           HTTP2ServerConnectionFactory http2 = new HTTP2ServerConnectionFactory(httpsConfig);
+          configureHttp2(http2, httpsProperties);
           ALPNServerConnectionFactory alpn = new ALPNServerConnectionFactory();
           alpn.setDefaultProtocol(http11.getProtocol());
           SslConnectionFactory ssl = new SslConnectionFactory(sslContextFactory,
               alpn.getProtocol());
 
           //https connector
-          connector = new ServerConnector(server, ssl, alpn, http2, http11);
+          connector = newServerConnector(server, executor, connectorProperties, ssl, alpn, http2,
+              http11);
         }
       } else {
         // Configure the Connector to speak HTTP/1.1 and HTTP/2.
         HttpConnectionFactory http11 = new HttpConnectionFactory(httpsConfig);
         HTTP2ServerConnectionFactory http2 = new HTTP2ServerConnectionFactory(httpsConfig);
+        configureHttp2(http2, httpsProperties);
         ALPNServerConnectionFactory alpn = new ALPNServerConnectionFactory();
         alpn.setDefaultProtocol(http11.getProtocol());
         SslConnectionFactory ssl = new SslConnectionFactory(sslContextFactory, alpn.getProtocol());
 
         //https connector
-        connector = new ServerConnector(server, ssl, alpn, http2, http11);
+        connector = newServerConnector(server, executor, connectorProperties, ssl, alpn, http2,
+            http11);
       }
     } else {
       throw new IllegalArgumentException("SSL properties not found.Please configure SSL.");
     }
+    if (StringUtils.isNotEmpty(connectorProperties.getName())) {
+      connector.setName(connectorProperties.getName());
+    }
+    if (StringUtils.isNotEmpty(connectorProperties.getHost())) {
+      connector.setHost(connectorProperties.getHost());
+    }
+    if (connectorProperties.getPort() != 0) {
+      connector.setPort(connectorProperties.getPort());
+    }
+    connector.setIdleTimeout(JettyServerUtils.getTimeout(connectorProperties.getIdleTimeout()));
+    configureSocket(connector, connectorProperties);
+    return connector;
+  }
+
+
+  private static void configureHttp2(AbstractHTTP2ServerConnectionFactory factory,
+      HttpProperties httpProperties) {
+    if (httpProperties.getHttp2().isEmpty()) {
+      return;
+    }
+    Http2Properties http2Properties = httpProperties.getHttp2().get();
+    http2Properties.getMaxConcurrentStreams().ifPresent(factory::setMaxConcurrentStreams);
+    http2Properties.getInitialSessionRecvWindow()
+        .ifPresent(factory::setInitialSessionRecvWindow);
+    http2Properties.getInitialStreamRecvWindow().ifPresent(factory::setInitialStreamRecvWindow);
+    http2Properties.getMaxFrameSize().ifPresent(factory::setMaxFrameSize);
+    http2Properties.getMaxDecoderTableCapacity().ifPresent(factory::setMaxDecoderTableCapacity);
+    http2Properties.getMaxEncoderTableCapacity().ifPresent(factory::setMaxEncoderTableCapacity);
+  }
+
+  //===============================================================================================
+  //HTTP/3 connectors
+
+  /**
+   * Creates QUIC connector, it binds UDP so it can share port number with a https connector.
+   */
+  public static HTTP3ServerConnector createHttp3Connector(Server server,
+      ConnectorProperties connectorProperties, Http3Properties http3Properties) {
+    if (connectorProperties.isProxyProtocol()) {
+      throw new JettyException("PROXY protocol is not supported for http3 connector : "
+          + connectorProperties.getName());
+    }
+    SSLProperties sslProperties = http3Properties.getSsl().orElseThrow(
+        () -> new IllegalArgumentException("SSL properties not found.Please configure SSL."));
+    SslContextFactory.Server sslContextFactory = createSSLContextFactory(server, sslProperties);
+
+    HttpConfiguration httpConfig = createHttpsConfiguration(http3Properties);
+    httpConfig.addCustomizer(new SecureRequestCustomizer(false));
+    HTTP3ServerConnectionFactory http3 = new HTTP3ServerConnectionFactory(httpConfig);
+
+    HTTP3ServerConnector connector = new HTTP3ServerConnector(server,
+        newConnectorExecutor(connectorProperties), null, null, sslContextFactory, http3);
+    //quiche reads key & certs from pem files
+    if (http3Properties.getPemWorkDirectory().isPresent()) {
+      connector.getQuicConfiguration().setPemWorkDirectory(
+          Path.of(http3Properties.getPemWorkDirectory().get()));
+    } else {
+      //private key is written there, so temp directory lives only while connector runs
+      Path pemWorkDirectory = createPemWorkDirectory();
+      connector.getQuicConfiguration().setPemWorkDirectory(pemWorkDirectory);
+      connector.addEventListener(new LifeCycle.Listener() {
+        @Override
+        public void lifeCycleStopped(LifeCycle event) {
+          IO.delete(pemWorkDirectory.toFile());
+        }
+      });
+    }
+
     if (StringUtils.isNotEmpty(connectorProperties.getName())) {
       connector.setName(connectorProperties.getName());
     }
@@ -242,6 +674,89 @@ public final class JettyServerUtils {
     return connector;
   }
 
+  /**
+   * @return temp directory readable by owner only
+   */
+  private static Path createPemWorkDirectory() {
+    try {
+      if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+        return Files.createTempDirectory("jetty-http3-",
+            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+      }
+      return Files.createTempDirectory("jetty-http3-");
+    } catch (IOException e) {
+      throw new JettyException("Unable to create pem work directory.", e);
+    }
+  }
+
+  /**
+   * @return Alt-Svc entry advertising http3 connector
+   * @throws JettyException when http3 connector has no fixed port, it can't be advertised
+   */
+  public static String altSvcValue(ConnectorProperties connectorProperties,
+      Http3Properties http3Properties) {
+    if (connectorProperties.getPort() == 0) {
+      throw new JettyException("Port is required for http3 connector advertised with Alt-Svc : "
+          + connectorProperties.getName());
+    }
+    String value = "h3=\":" + connectorProperties.getPort() + "\"";
+    if (http3Properties.getAltSvcMaxAge().isPresent()) {
+      value += "; ma=" + http3Properties.getAltSvcMaxAge().get();
+    }
+    return value;
+  }
+
+  /**
+   * Adds Alt-Svc header to responses of every TLS connector, so clients can switch to http3.
+   *
+   * @param connectors all server connectors
+   * @param altSvc     Alt-Svc header value
+   */
+  public static void advertiseAltSvc(List<Connector> connectors, String altSvc) {
+    AltSvcCustomizer customizer = new AltSvcCustomizer(altSvc);
+    Set<HttpConfiguration> configurations = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Connector connector : connectors) {
+      if (connector.getConnectionFactory(SslConnectionFactory.class) == null) {
+        continue;
+      }
+      for (ConnectionFactory factory : connector.getConnectionFactories()) {
+        if (factory instanceof HttpConfiguration.ConnectionFactory httpFactory) {
+          configurations.add(httpFactory.getHttpConfiguration());
+        }
+      }
+    }
+    configurations.forEach(configuration -> configuration.addCustomizer(customizer));
+  }
+
+  /**
+   * Adds request customizers in given order. Known names are 'forwarded' (Forwarded &
+   * X-Forwarded-* headers) and 'host-header', anything else is a customizer class name.
+   */
+  static void addCustomizers(HttpConfiguration httpConfig, List<String> customizers) {
+    if (CollectionUtils.isEmpty(customizers)) {
+      return;
+    }
+    for (String customizer : customizers) {
+      httpConfig.addCustomizer(createCustomizer(customizer));
+    }
+  }
+
+  private static HttpConfiguration.Customizer createCustomizer(String customizer) {
+    switch (customizer) {
+      case FORWARDED_CUSTOMIZER:
+        return new ForwardedRequestCustomizer();
+      case HOST_HEADER_CUSTOMIZER:
+        return new HostHeaderCustomizer();
+      default:
+        try {
+          Class<?> clazz = Class.forName(customizer, true,
+              Thread.currentThread().getContextClassLoader());
+          return (HttpConfiguration.Customizer) clazz.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+          throw new JettyException("Unable to create request customizer " + customizer, e);
+        }
+    }
+  }
 
   private static HttpConfiguration createHttpsConfiguration(HttpsProperties httpProperties) {
     HttpConfiguration httpConfig = new HttpConfiguration();
@@ -254,11 +769,18 @@ public final class JettyServerUtils {
     httpProperties.getResponseHeaderSize().ifPresent(httpConfig::setResponseHeaderSize);
     httpProperties.getSendServerVersion().ifPresent(httpConfig::setSendServerVersion);
     httpProperties.getSendDateHeader().ifPresent(httpConfig::setSendDateHeader);
+    httpProperties.getUseInputDirectByteBuffers()
+        .ifPresent(httpConfig::setUseInputDirectByteBuffers);
+    httpProperties.getUseOutputDirectByteBuffers()
+        .ifPresent(httpConfig::setUseOutputDirectByteBuffers);
 
     httpConfig.setHttpCompliance(httpProperties.getHttpCompliance());
     httpConfig.setUriCompliance(httpProperties.getUriCompliance());
     httpConfig.setRequestCookieCompliance(httpProperties.getRequestCookieCompliance());
     httpConfig.setResponseCookieCompliance(httpProperties.getResponseCookieCompliance());
+
+    //before SecureRequestCustomizer, which is added by connector
+    addCustomizers(httpConfig, httpProperties.getCustomizers());
     return httpConfig;
   }
 
@@ -287,9 +809,8 @@ public final class JettyServerUtils {
       factory.setCertAlias(sslProperties.getCertAlias().get());
     }
 
-    if (sslProperties.getJceProvider().isPresent()) {
-      factory.setProvider(sslProperties.getJceProvider().get());
-    }
+    //ALPN processor is picked by engine type, so no extra wiring is needed per engine
+    resolveTlsProvider(sslProperties).ifPresent(factory::setProvider);
 
     if (sslProperties.getValidateCerts().isPresent()) {
       factory.setValidateCerts(sslProperties.getValidateCerts().get());
@@ -316,8 +837,142 @@ public final class JettyServerUtils {
           sslProperties.getExcludedCipherSuites().toArray(new String[0]));
     }
 
+    //session resumption
+    sslProperties.getSessionCacheSize().ifPresent(factory::setSslSessionCacheSize);
+    sslProperties.getSessionTimeout().ifPresent(factory::setSslSessionTimeout);
+
+    //keystore reload on change, existing connections keep their session
+    if (sslProperties.getKeyStoreScanInterval().isPresent()) {
+      KeyStoreScanner scanner;
+      try {
+        scanner = new KeyStoreScanner(factory);
+      } catch (IllegalArgumentException e) {
+        throw new JettyException("Keystore reload requires a filesystem keystore, found "
+            + sslProperties.getKeyStorePath(), e);
+      }
+      scanner.setScanInterval(sslProperties.getKeyStoreScanInterval().get());
+      server.addBean(scanner);
+    }
+
     return factory;
   }
 
+  static Optional<String> resolveTlsProvider(SSLProperties sslProperties) {
+    return resolveTlsProvider(sslProperties, ConscryptProvider::register);
+  }
+
+  /**
+   * @param conscryptRegistration registers conscrypt provider, false when it isn't available
+   * @return provider name, empty for jvm default
+   */
+  static Optional<String> resolveTlsProvider(SSLProperties sslProperties,
+      BooleanSupplier conscryptRegistration) {
+    TlsEngine tlsEngine = sslProperties.getTlsEngine().orElse(TlsEngine.JDK);
+    if (tlsEngine == TlsEngine.JDK) {
+      return sslProperties.getJceProvider();
+    }
+    if (conscryptRegistration.getAsBoolean()) {
+      return Optional.of(ConscryptProvider.NAME);
+    }
+    if (tlsEngine == TlsEngine.CONSCRYPT) {
+      throw new JettyException("Conscrypt tls engine is not available on this platform.");
+    }
+    log.warn("Conscrypt tls engine not available, falling back to JDK.");
+    return Optional.empty();
+  }
+
+  //===============================================================================================
+  //Handlers
+
+  /**
+   * @param server             jetty server, deflater pool is registered as server bean
+   * @param gzipProperties     compression settings, defaults are used when null
+   * @param excludedConnectors connector names that must not get compressed responses
+   * @return gzip handler without child handler
+   */
+  public static GzipHandler createGzipHandler(Server server, GzipProperties gzipProperties,
+      Set<String> excludedConnectors) {
+    ConnectorGzipHandler gzipHandler = new ConnectorGzipHandler(excludedConnectors);
+    if (gzipProperties == null) {
+      return gzipHandler;
+    }
+
+    //deflater pool is looked up from server beans when gzip handler starts
+    if (gzipProperties.getDeflaterPoolCapacity().isPresent()
+        || gzipProperties.getCompressionLevel().isPresent()) {
+      server.addBean(new DeflaterPool(
+          gzipProperties.getDeflaterPoolCapacity().orElse(DEFAULT_DEFLATER_POOL_CAPACITY),
+          gzipProperties.getCompressionLevel().orElse(Deflater.DEFAULT_COMPRESSION), true));
+    }
+
+    gzipProperties.getMinGzipSize().ifPresent(gzipHandler::setMinGzipSize);
+    gzipProperties.getSyncFlush().ifPresent(gzipHandler::setSyncFlush);
+
+    if (CollectionUtils.isNotEmpty(gzipProperties.getIncludedMethods())) {
+      gzipHandler.setIncludedMethods(gzipProperties.getIncludedMethods().toArray(new String[0]));
+    }
+
+    if (CollectionUtils.isNotEmpty(gzipProperties.getIncludedMimeTypes())) {
+      gzipHandler.setIncludedMimeTypes(
+          gzipProperties.getIncludedMimeTypes().toArray(new String[0]));
+    }
+
+    if (CollectionUtils.isNotEmpty(gzipProperties.getExcludedMimeTypes())) {
+      gzipHandler.setExcludedMimeTypes(
+          gzipProperties.getExcludedMimeTypes().toArray(new String[0]));
+    }
+
+    if (CollectionUtils.isNotEmpty(gzipProperties.getIncludedPaths())) {
+      gzipHandler.setIncludedPaths(gzipProperties.getIncludedPaths().toArray(new String[0]));
+    }
+
+    if (CollectionUtils.isNotEmpty(gzipProperties.getExcludedPaths())) {
+      gzipHandler.setExcludedPaths(gzipProperties.getExcludedPaths().toArray(new String[0]));
+    }
+    return gzipHandler;
+  }
+
+  //===============================================================================================
+  //Webapps
+
+  /**
+   * Enables quickstart & sets jar scan patterns of webapp, attributes already set on webapp are
+   * kept. Must be called before webapp is started.
+   *
+   * @param webAppContext    webapp context
+   * @param webAppProperties webapp startup settings
+   */
+  public static void configureWebApp(WebAppContext webAppContext,
+      WebAppProperties webAppProperties) {
+    if (webAppProperties == null) {
+      return;
+    }
+    webAppProperties.getContainerJarPattern().ifPresent(
+        pattern -> setAttributeIfAbsent(webAppContext, MetaInfConfiguration.CONTAINER_JAR_PATTERN,
+            pattern));
+    webAppProperties.getWebInfJarPattern().ifPresent(
+        pattern -> setAttributeIfAbsent(webAppContext, MetaInfConfiguration.WEBINF_JAR_PATTERN,
+            pattern));
+
+    QuickStartMode quickStartMode = webAppProperties.getQuickStartMode();
+    if (quickStartMode == null || quickStartMode == QuickStartMode.OFF) {
+      return;
+    }
+    //AUTO generates missing descriptor, jetty AUTO only boots from an existing one
+    webAppContext.addConfiguration(new AutoQuickStartConfiguration());
+    setAttributeIfAbsent(webAppContext, QuickStartConfiguration.MODE,
+        QuickStartConfiguration.Mode.valueOf(quickStartMode.name()));
+    webAppProperties.getQuickStartXml().ifPresent(
+        xml -> setAttributeIfAbsent(webAppContext, QuickStartConfiguration.QUICKSTART_WEB_XML,
+            xml));
+  }
+
+  private static void setAttributeIfAbsent(WebAppContext webAppContext, String name,
+      Object value) {
+    if (webAppContext.getAttribute(name) == null) {
+      webAppContext.setAttribute(name, value);
+    }
+  }
+
 
 }
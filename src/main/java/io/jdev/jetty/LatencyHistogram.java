@@ -0,0 +1,108 @@
+package io.jdev.jetty;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of nanosecond values, in the style of HdrHistogram. Values are
+ * grouped in power of two ranges, each split in {@value #SUB_BUCKET_COUNT} linear sub-buckets, so
+ * recorded values keep ~6% precision. Recording is a few bit operations plus atomic increments, no
+ * allocation.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/14/24 5:02 PM
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  //values above ~18 minutes are clamped
+  static final long MAX_VALUE = (1L << 40) - 1;
+  private static final int BUCKET_COUNT = index(MAX_VALUE) + 1;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+
+  static int index(long value) {
+    int msb = 63 - Long.numberOfLeadingZeros(value);
+    int shift = Math.max(0, msb - SUB_BUCKET_BITS);
+    return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+  }
+
+  /**
+   * @return highest value that falls in bucket
+   */
+  static long highestValue(int index) {
+    if (index < 2 * SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = (index >> SUB_BUCKET_BITS) - 1;
+    long subBucket = index - ((long) shift << SUB_BUCKET_BITS);
+    return ((subBucket + 1) << shift) - 1;
+  }
+
+  /**
+   * @param nanos recorded value, negative values are ignored
+   */
+  public void record(long nanos) {
+    if (nanos < 0) {
+      return;
+    }
+    long value = Math.min(nanos, MAX_VALUE);
+    buckets.incrementAndGet(index(value));
+    count.increment();
+    sum.add(value);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * @return sum of recorded values in nanoseconds
+   */
+  public long getSum() {
+    return sum.sum();
+  }
+
+  /**
+   * @param quantile value in range [0,1] Ex: 0.99
+   * @return upper bound of bucket where quantile falls, in nanoseconds
+   */
+  public long getValueAtQuantile(double quantile) {
+    long[] values = new long[1];
+    getValuesAtQuantiles(new double[]{quantile}, values);
+    return values[0];
+  }
+
+  /**
+   * Fills values for given quantiles with one pass over buckets, without allocation.
+   *
+   * @param quantiles ascending quantiles in range [0,1]
+   * @param values    destination in nanoseconds, same length as quantiles
+   */
+  public void getValuesAtQuantiles(double[] quantiles, long[] values) {
+    long total = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      total += buckets.get(i);
+    }
+    int q = 0;
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT && q < quantiles.length && total > 0; i++) {
+      seen += buckets.get(i);
+      while (q < quantiles.length && seen >= rank(quantiles[q], total)) {
+        values[q++] = highestValue(i);
+      }
+    }
+    //no values recorded
+    for (; q < quantiles.length; q++) {
+      values[q] = total == 0 ? 0 : MAX_VALUE;
+    }
+  }
+
+  private static long rank(double quantile, long total) {
+    return Math.max(1, (long) Math.ceil(quantile * total));
+  }
+
+}
@@ -0,0 +1,204 @@
+package io.jdev.jetty;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.server.handler.ContextHandler;
+import org.eclipse.jetty.util.Callback;
+import org.eclipse.jetty.util.thread.Scheduler;
+
+/**
+ * Placeholder context that creates & starts its handler on first request, concurrent first
+ * requests wait for the same initialization. With idle timeout the handler is stopped & released
+ * again once no request arrived for that long, next request loads it anew.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/24/24 2:30 PM
+ */
+@Slf4j
+public class LazyContextHandler extends ContextHandler {
+
+  private final Supplier<? extends Handler> factory;
+  private final long idleTimeout;
+  //not synchronized, virtual threads waiting for init must not pin their carrier
+  private final ReentrantLock lock = new ReentrantLock();
+  private final AtomicInteger active = new AtomicInteger();
+  private volatile Handler loaded;
+  private volatile long lastAccess;
+  private Scheduler.Task idleTask;
+
+  /**
+   * @param factory     creates handler on first request, e.g. {@link Builder#build()}
+   * @param contextPath jetty handler path
+   */
+  public LazyContextHandler(Supplier<? extends Handler> factory, String contextPath) {
+    this(factory, contextPath, 0);
+  }
+
+  /**
+   * @param factory     creates handler on first request, e.g. {@link Builder#build()}
+   * @param contextPath jetty handler path
+   * @param idleTimeout in milliseconds, handler is never unloaded when not positive
+   */
+  public LazyContextHandler(Supplier<? extends Handler> factory, String contextPath,
+      long idleTimeout) {
+    super(contextPath);
+    this.factory = Objects.requireNonNull(factory, "Handler factory can't be null");
+    this.idleTimeout = TimeUnit.MILLISECONDS.toNanos(Math.max(0, idleTimeout));
+    setHandler(new Handler.Abstract() {
+      @Override
+      public boolean handle(Request request, Response response, Callback callback)
+          throws Exception {
+        return handleLoaded(request, response, callback);
+      }
+    });
+  }
+
+  public boolean isLoaded() {
+    return loaded != null;
+  }
+
+  public Handler getLoadedHandler() {
+    return loaded;
+  }
+
+  protected boolean handleLoaded(Request request, Response response, Callback callback)
+      throws Exception {
+    //in flight requests keep handler loaded
+    active.incrementAndGet();
+    boolean handled = false;
+    try {
+      lastAccess = System.nanoTime();
+      Handler handler = loaded;
+      if (handler == null) {
+        handler = load();
+      }
+      Callback activeCallback = new Callback.Nested(callback) {
+        @Override
+        public void succeeded() {
+          active.decrementAndGet();
+          super.succeeded();
+        }
+
+        @Override
+        public void failed(Throwable x) {
+          active.decrementAndGet();
+          super.failed(x);
+        }
+      };
+      handled = handler.handle(request, response, activeCallback);
+      return handled;
+    } finally {
+      if (!handled) {
+        active.decrementAndGet();
+      }
+    }
+  }
+
+  private Handler load() throws Exception {
+    lock.lock();
+    try {
+      Handler handler = loaded;
+      if (handler != null) {
+        return handler;
+      }
+      long start = System.nanoTime();
+      handler = factory.get();
+      handler.setServer(getServer());
+      try {
+        handler.start();
+      } catch (Exception e) {
+        //next request retries initialization
+        stopHandler(handler);
+        throw e;
+      }
+      loaded = handler;
+      log.info("Lazy context '{}' loaded in {} ms", getContextPath(),
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      scheduleIdleCheck(idleTimeout);
+      return handler;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @param now current time in nanoseconds
+   * @return true if handler was unloaded
+   */
+  boolean unloadIfIdle(long now) {
+    lock.lock();
+    try {
+      Handler handler = loaded;
+      if (handler == null || idleTimeout <= 0 || active.get() != 0
+          || now - lastAccess < idleTimeout) {
+        return false;
+      }
+      //unpublish first, requests that got in meanwhile keep handler loaded
+      loaded = null;
+      if (active.get() != 0) {
+        loaded = handler;
+        return false;
+      }
+      stopHandler(handler);
+      log.info("Lazy context '{}' unloaded after idle timeout", getContextPath());
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void checkIdle() {
+    lock.lock();
+    try {
+      long now = System.nanoTime();
+      if (!unloadIfIdle(now) && isLoaded()) {
+        long remaining = idleTimeout - (now - lastAccess);
+        scheduleIdleCheck(Math.max(remaining, TimeUnit.MILLISECONDS.toNanos(100)));
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void scheduleIdleCheck(long delay) {
+    if (idleTimeout <= 0 || getServer() == null || !isRunning()) {
+      return;
+    }
+    idleTask = getServer().getScheduler().schedule(this::checkIdle, delay, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  protected void doStop() throws Exception {
+    lock.lock();
+    try {
+      if (idleTask != null) {
+        idleTask.cancel();
+        idleTask = null;
+      }
+      Handler handler = loaded;
+      loaded = null;
+      if (handler != null) {
+        stopHandler(handler);
+      }
+    } finally {
+      lock.unlock();
+    }
+    super.doStop();
+  }
+
+  private void stopHandler(Handler handler) {
+    try {
+      handler.stop();
+    } catch (Exception e) {
+      log.warn("Lazy context '{}' failed to stop", getContextPath(), e);
+    }
+  }
+
+}
@@ -0,0 +1,28 @@
+package io.jdev.jetty;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resource exhaustion limits of server. Connectors stop accepting while max connections are open,
+ * per connector limits are in {@link ConnectorProperties#getMaxConnections()}.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/23/24 3:12 PM
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+public class LimitsProperties {
+
+  private Optional<Integer> maxConnections = Optional.empty();
+  //idle timeout of open connections while limit is reached
+  private Optional<Long> limitedIdleTimeout = Optional.empty(); // in milliseconds
+  private LowResourcesProperties lowResources;
+
+}
@@ -0,0 +1,33 @@
+package io.jdev.jetty;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Low resources mode, entered when thread pool is low on threads or memory is over max memory.
+ * In low resources mode idle timeout of connections shrinks, so idle and slow clients are closed
+ * sooner.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/23/24 3:20 PM
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+public class LowResourcesProperties {
+
+  private boolean enabled;
+  private boolean monitorThreads = true;
+  private Optional<Long> maxMemory = Optional.empty(); // in bytes
+  private int lowResourcesIdleTimeout = 1000; // in milliseconds
+  private int period = 1000; // in milliseconds
+  //how long low resources may last before lowResourcesIdleTimeout is applied to all connections
+  private int maxLowResourcesTime = 0; // in milliseconds
+  private boolean acceptingInLowResources = true;
+
+}
@@ -0,0 +1,85 @@
+package io.jdev.jetty;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.util.Callback;
+
+/**
+ * Records request latency, active requests and responses by status class of wrapped handler.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/14/24 6:20 PM
+ */
+public class MetricsHandler extends Handler.Wrapper {
+
+  private final LatencyHistogram latency;
+  private final LongAdder active = new LongAdder();
+  //responses by status class 1xx..5xx
+  private final LongAdder[] responses = new LongAdder[5];
+
+  public MetricsHandler(MetricsRegistry registry) {
+    this.latency = registry.histogram("jetty_request_duration_seconds",
+        "Request handling time", Map.of());
+    registry.gauge("jetty_requests_active", "Requests currently handled", Map.of(),
+        active::sum);
+    for (int i = 0; i < responses.length; i++) {
+      LongAdder adder = new LongAdder();
+      responses[i] = adder;
+      registry.counter("jetty_responses_total", "Responses by status class",
+          Map.of("status", (i + 1) + "xx"), adder::sum);
+    }
+  }
+
+  @Override
+  public boolean handle(Request request, Response response, Callback callback) throws Exception {
+    Handler next = getHandler();
+    if (next == null) {
+      return false;
+    }
+
+    long begin = System.nanoTime();
+    active.increment();
+    Callback timedCallback = new Callback.Nested(callback) {
+      @Override
+      public void succeeded() {
+        complete(begin, response.getStatus());
+        super.succeeded();
+      }
+
+      @Override
+      public void failed(Throwable x) {
+        complete(begin, 500);
+        super.failed(x);
+      }
+    };
+
+    try {
+      if (next.handle(request, response, timedCallback)) {
+        return true;
+      }
+    } catch (Throwable x) {
+      complete(begin, 500);
+      throw x;
+    }
+    //not handled, jetty responds with 404
+    complete(begin, 404);
+    return false;
+  }
+
+  private void complete(long begin, int status) {
+    latency.record(System.nanoTime() - begin);
+    active.decrement();
+    int statusClass = status / 100;
+    if (statusClass >= 1 && statusClass <= responses.length) {
+      responses[statusClass - 1].increment();
+    }
+  }
+
+  public LatencyHistogram getLatency() {
+    return latency;
+  }
+
+}
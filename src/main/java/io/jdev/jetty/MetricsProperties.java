@@ -0,0 +1,27 @@
+package io.jdev.jetty;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author gentjan kolicaj
+ * @Date: 12/14/24 4:05 PM
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+public class MetricsProperties {
+
+  private boolean enabled;
+  //MetricsRegistry implementation with no-args constructor, DefaultMetricsRegistry when empty
+  private Optional<String> registryClass = Optional.empty();
+  private boolean connectionStatistics = true;
+  private boolean requestTiming = true;
+  private PrometheusProperties prometheus;
+
+}
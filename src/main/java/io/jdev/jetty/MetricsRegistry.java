@@ -0,0 +1,39 @@
+package io.jdev.jetty;
+
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry SPI where server metrics are published. Registration happens once at bootstrap, values
+ * are read from suppliers & histograms only when metrics are collected.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/14/24 4:12 PM
+ */
+public interface MetricsRegistry {
+
+  /**
+   * @param name   metric name Ex: jetty_threads_busy
+   * @param help   metric description
+   * @param labels metric labels, can be empty
+   * @param value  current value supplier
+   */
+  void gauge(String name, String help, Map<String, String> labels, LongSupplier value);
+
+  /**
+   * @param name   metric name Ex: jetty_connections_total
+   * @param help   metric description
+   * @param labels metric labels, can be empty
+   * @param value  monotonic value supplier
+   */
+  void counter(String name, String help, Map<String, String> labels, LongSupplier value);
+
+  /**
+   * @param name   metric name Ex: jetty_request_duration_seconds
+   * @param help   metric description
+   * @param labels metric labels, can be empty
+   * @return histogram where values are recorded
+   */
+  LatencyHistogram histogram(String name, String help, Map<String, String> labels);
+
+}
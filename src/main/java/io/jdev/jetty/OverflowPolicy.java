@@ -0,0 +1,30 @@
+package io.jdev.jetty;
+
+/**
+ * What thread pool does with a job when its bounded queue is full.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/21/24 3:18 PM
+ */
+public enum OverflowPolicy {
+
+  /**
+   * Job is rejected, submitter handles {@link java.util.concurrent.RejectedExecutionException}.
+   */
+  REJECT,
+
+  /**
+   * Job runs on submitting thread, slowing down producer. Jobs submitted by pool threads are
+   * rejected instead, since selectors run on pool threads and a blocking job would stall every
+   * connection of the selector. Almost every job of server traffic is submitted by a pool thread,
+   * so for it this behaves like {@link #REJECT}, only jobs of application threads run on caller.
+   */
+  CALLER_RUNS,
+
+  /**
+   * Oldest queued job is failed (callbacks) or closed (closeables) to make room for new job. When
+   * oldest job can't be failed, new job is rejected.
+   */
+  SHED_OLDEST
+
+}
@@ -0,0 +1,109 @@
+package io.jdev.jetty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.handler.ContextHandler;
+import org.eclipse.jetty.server.handler.ContextHandlerCollection;
+
+/**
+ * ContextHandlerCollection that starts its contexts concurrently on a bounded fork/join pool. It is
+ * started by server before connectors are opened, so no request reaches a context still starting.
+ * Failures of all contexts are reported together, contexts already started are stopped again.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/24/24 10:15 AM
+ */
+@Slf4j
+public class ParallelContextHandlerCollection extends ContextHandlerCollection {
+
+  private final int parallelism;
+
+  /**
+   * @param parallelism max contexts starting at once, contexts start one by one when below 2
+   */
+  public ParallelContextHandlerCollection(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  @Override
+  protected void doStart() throws Exception {
+    List<ContextHandler> contexts = new ArrayList<>();
+    for (Handler handler : getHandlers()) {
+      if (handler instanceof ContextHandler context && !context.isRunning()) {
+        contexts.add(context);
+      }
+    }
+    if (parallelism > 1 && contexts.size() > 1) {
+      startContexts(contexts);
+    }
+    //remaining handlers, started contexts are skipped
+    super.doStart();
+  }
+
+  protected void startContexts(List<ContextHandler> contexts) throws Exception {
+    long start = System.nanoTime();
+    //workers start contexts with caller's context class loader, as sequential start would
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, contexts.size()), forkJoinPool -> {
+      ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(
+          forkJoinPool);
+      worker.setContextClassLoader(classLoader);
+      worker.setName("jetty-context-start-" + worker.getPoolIndex());
+      return worker;
+    }, null, false);
+    try {
+      List<Future<Void>> futures = new ArrayList<>(contexts.size());
+      for (ContextHandler context : contexts) {
+        futures.add(pool.submit(() -> {
+          context.start();
+          return null;
+        }));
+      }
+
+      List<Throwable> failures = new ArrayList<>();
+      for (int i = 0; i < futures.size(); i++) {
+        try {
+          futures.get(i).get();
+        } catch (ExecutionException e) {
+          log.error("Context '{}' failed to start", contexts.get(i).getContextPath(), e.getCause());
+          failures.add(e.getCause());
+        }
+      }
+
+      if (!failures.isEmpty()) {
+        stopStarted(contexts);
+        JettyException exception = new JettyException(
+            failures.size() + " of " + contexts.size() + " contexts failed to start");
+        failures.forEach(exception::addSuppressed);
+        throw exception;
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+    log.info("Started {} contexts in parallel in {} ms", contexts.size(),
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  private void stopStarted(List<ContextHandler> contexts) {
+    for (ContextHandler context : contexts) {
+      if (context.isStarted()) {
+        try {
+          context.stop();
+        } catch (Exception e) {
+          log.warn("Context '{}' failed to stop", context.getContextPath(), e);
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,284 @@
+package io.jdev.jetty;
+
+import io.jdev.jetty.DefaultMetricsRegistry.Meter;
+import io.jdev.jetty.DefaultMetricsRegistry.MeterType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.io.ByteBufferPool;
+import org.eclipse.jetty.io.RetainableByteBuffer;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.Callback;
+
+/**
+ * Renders {@link DefaultMetricsRegistry} in prometheus text format. Metric names, labels and help
+ * lines are rendered once when meters are registered as UTF-8 bytes, a scrape only appends current
+ * values into a reused byte buffer which is copied into a pooled buffer for the response.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/15/24 3:52 PM
+ */
+public class PrometheusHandler extends Handler.Abstract.NonBlocking {
+
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+  private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+  private static final int FRACTION_DIGITS = 9;
+  private static final byte[] LONG_MIN_VALUE = utf8(String.valueOf(Long.MIN_VALUE));
+
+  private final DefaultMetricsRegistry registry;
+  //scrapes are rendered one at a time into reused buffer
+  private final ReentrantLock lock = new ReentrantLock();
+  private final long[] quantileValues = new long[QUANTILES.length];
+  private byte[] buffer = new byte[16 * 1024];
+  private int length;
+  private List<Family> families = List.of();
+  private int renderedMeters = -1;
+
+  public PrometheusHandler(DefaultMetricsRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public boolean handle(Request request, Response response, Callback callback) {
+    if (!HttpMethod.GET.is(request.getMethod())) {
+      Response.writeError(request, response, callback, HttpStatus.METHOD_NOT_ALLOWED_405);
+      return true;
+    }
+    ByteBufferPool bufferPool = request.getComponents().getByteBufferPool();
+    RetainableByteBuffer body;
+    lock.lock();
+    try {
+      render();
+      //buffer is copied into pooled one, next scrape can render while this one is written
+      body = bufferPool.acquire(length, false);
+      BufferUtil.append(body.getByteBuffer(), buffer, 0, length);
+    } finally {
+      lock.unlock();
+    }
+    response.setStatus(HttpStatus.OK_200);
+    response.getHeaders().put(HttpHeader.CONTENT_TYPE, CONTENT_TYPE);
+    response.getHeaders().put(HttpHeader.CONTENT_LENGTH, body.remaining());
+    response.write(true, body.getByteBuffer(), new Callback.Nested(callback) {
+      @Override
+      public void succeeded() {
+        body.release();
+        super.succeeded();
+      }
+
+      @Override
+      public void failed(Throwable x) {
+        body.release();
+        super.failed(x);
+      }
+    });
+    return true;
+  }
+
+  /**
+   * @return current metrics in prometheus text format
+   */
+  public String scrape() {
+    lock.lock();
+    try {
+      render();
+      return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void render() {
+    List<Meter> meters = registry.getMeters();
+    if (meters.size() != renderedMeters) {
+      families = compile(meters);
+      renderedMeters = meters.size();
+    }
+
+    length = 0;
+    for (Family family : families) {
+      append(family.header);
+      for (Sample sample : family.samples) {
+        Meter meter = sample.meter;
+        if (meter.type() == MeterType.HISTOGRAM) {
+          LatencyHistogram histogram = meter.histogram();
+          histogram.getValuesAtQuantiles(QUANTILES, quantileValues);
+          for (int i = 0; i < QUANTILES.length; i++) {
+            append(sample.quantilePrefixes[i]);
+            appendSeconds(quantileValues[i]);
+            append((byte) '\n');
+          }
+          append(sample.sumPrefix);
+          appendSeconds(histogram.getSum());
+          append((byte) '\n');
+          append(sample.countPrefix);
+          appendLong(histogram.getCount());
+          append((byte) '\n');
+        } else {
+          append(sample.prefix);
+          appendLong(meter.value().getAsLong());
+          append((byte) '\n');
+        }
+      }
+    }
+  }
+
+  private void append(byte[] bytes) {
+    ensureCapacity(bytes.length);
+    System.arraycopy(bytes, 0, buffer, length, bytes.length);
+    length += bytes.length;
+  }
+
+  private void append(byte b) {
+    ensureCapacity(1);
+    buffer[length++] = b;
+  }
+
+  private void appendLong(long value) {
+    if (value == Long.MIN_VALUE) {
+      append(LONG_MIN_VALUE);
+      return;
+    }
+    if (value < 0) {
+      append((byte) '-');
+      value = -value;
+    }
+    int digits = 1;
+    for (long rest = value / 10; rest != 0; rest /= 10) {
+      digits++;
+    }
+    ensureCapacity(digits);
+    for (int i = length + digits - 1; i >= length; i--) {
+      buffer[i] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    length += digits;
+  }
+
+  /**
+   * Nanoseconds as decimal seconds, without floating point formatting.
+   */
+  private void appendSeconds(long nanos) {
+    if (nanos < 0) {
+      append((byte) '-');
+      nanos = nanos == Long.MIN_VALUE ? Long.MAX_VALUE : -nanos;
+    }
+    appendLong(nanos / NANOS_PER_SECOND);
+    long fraction = nanos % NANOS_PER_SECOND;
+    if (fraction == 0) {
+      return;
+    }
+    int digits = FRACTION_DIGITS;
+    while (fraction % 10 == 0) {
+      fraction /= 10;
+      digits--;
+    }
+    ensureCapacity(digits + 1);
+    buffer[length++] = '.';
+    for (int i = length + digits - 1; i >= length; i--) {
+      buffer[i] = (byte) ('0' + fraction % 10);
+      fraction /= 10;
+    }
+    length += digits;
+  }
+
+  private void ensureCapacity(int extra) {
+    if (length + extra > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+    }
+  }
+
+  private static List<Family> compile(List<Meter> meters) {
+    //samples of same metric must be rendered together
+    Map<String, Family> families = new LinkedHashMap<>();
+    for (Meter meter : meters) {
+      Family family = families.computeIfAbsent(meter.name(), name -> new Family(
+          "# HELP " + name + " " + escapeHelp(meter.help()) + "\n# TYPE " + name + " "
+              + typeOf(meter.type()) + "\n"));
+      family.samples.add(new Sample(meter));
+    }
+    return new ArrayList<>(families.values());
+  }
+
+  private static String typeOf(MeterType type) {
+    return switch (type) {
+      case GAUGE -> "gauge";
+      case COUNTER -> "counter";
+      case HISTOGRAM -> "summary";
+    };
+  }
+
+  static String labels(Map<String, String> labels, String extraName, String extraValue) {
+    if (labels.isEmpty() && extraName == null) {
+      return "";
+    }
+    StringBuilder builder = new StringBuilder("{");
+    labels.forEach((name, value) -> {
+      if (builder.length() > 1) {
+        builder.append(',');
+      }
+      builder.append(name).append("=\"").append(escapeLabel(value)).append('"');
+    });
+    if (extraName != null) {
+      if (builder.length() > 1) {
+        builder.append(',');
+      }
+      builder.append(extraName).append("=\"").append(extraValue).append('"');
+    }
+    return builder.append('}').toString();
+  }
+
+  private static String escapeLabel(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  private static byte[] utf8(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String escapeHelp(String value) {
+    return value.replace("\\", "\\\\").replace("\n", "\\n");
+  }
+
+  private static final class Family {
+
+    private final byte[] header;
+    private final List<Sample> samples = new ArrayList<>();
+
+    private Family(String header) {
+      this.header = header.getBytes(StandardCharsets.UTF_8);
+    }
+  }
+
+  private static final class Sample {
+
+    private final Meter meter;
+    private final byte[] prefix;
+    private final byte[][] quantilePrefixes;
+    private final byte[] sumPrefix;
+    private final byte[] countPrefix;
+
+    private Sample(Meter meter) {
+      this.meter = meter;
+      this.prefix = utf8(meter.name() + labels(meter.labels(), null, null) + " ");
+      this.quantilePrefixes = new byte[QUANTILES.length][];
+      for (int i = 0; i < QUANTILES.length; i++) {
+        quantilePrefixes[i] = utf8(meter.name()
+            + labels(meter.labels(), "quantile", String.valueOf(QUANTILES[i])) + " ");
+      }
+      this.sumPrefix = utf8(meter.name() + "_sum" + labels(meter.labels(), null, null) + " ");
+      this.countPrefix = utf8(meter.name() + "_count" + labels(meter.labels(), null, null) + " ");
+    }
+  }
+
+}
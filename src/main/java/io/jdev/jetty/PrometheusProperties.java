@@ -0,0 +1,25 @@
+package io.jdev.jetty;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author gentjan kolicaj
+ * @Date: 12/15/24 3:40 PM
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+public class PrometheusProperties {
+
+  private boolean enabled;
+  private String path = "/metrics";
+  //endpoint is served only on this connector, on all connectors when empty
+  private Optional<String> connectorName = Optional.empty();
+
+}
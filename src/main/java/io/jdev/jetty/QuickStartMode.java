@@ -0,0 +1,33 @@
+package io.jdev.jetty;
+
+/**
+ * Quickstart modes of WebAppContext, mapped to
+ * {@link org.eclipse.jetty.ee10.quickstart.QuickStartConfiguration.Mode}.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/23/24 6:40 PM
+ */
+public enum QuickStartMode {
+
+  /**
+   * Webapp is scanned & started as usual.
+   */
+  OFF,
+
+  /**
+   * Descriptor is generated from scan results, webapp is not served.
+   */
+  GENERATE,
+
+  /**
+   * Webapp boots from existing descriptor only, without scanning.
+   */
+  QUICKSTART,
+
+  /**
+   * Boots from descriptor when present, without scanning. Otherwise webapp is scanned & served as
+   * usual and descriptor is generated for next start.
+   */
+  AUTO
+
+}
@@ -0,0 +1,158 @@
+package io.jdev.jetty;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.util.Callback;
+import org.eclipse.jetty.util.thread.Scheduler;
+
+/**
+ * Rate limits requests by client address with GCRA (token bucket equivalent), responding 429 to
+ * clients over limit. Bucket of an address is one atomic theoretical arrival time, kept in sharded
+ * maps and evicted once idle, so memory follows active addresses only.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/22/24 3:05 PM
+ */
+public class RateLimitHandler extends Handler.Wrapper {
+
+  private final long emissionInterval;
+  private final long burstTolerance;
+  private final long idleTimeout;
+  private final Map<String, AtomicLong>[] shards;
+  private final LongAdder rejected = new LongAdder();
+  private Scheduler.Task evictionTask;
+
+  @SuppressWarnings("unchecked")
+  public RateLimitHandler(RateLimitProperties properties) {
+    if (properties.getRate() <= 0 || properties.getBurst() < 1) {
+      throw new JettyException("Rate limit rate & burst must be positive.");
+    }
+    //idle timeout is eviction period too, it must not reschedule without delay
+    if (properties.getIdleTimeout() <= 0) {
+      throw new JettyException("Rate limit idle timeout must be positive.");
+    }
+    this.emissionInterval = (long) (TimeUnit.SECONDS.toNanos(1) / properties.getRate());
+    this.burstTolerance = emissionInterval * (properties.getBurst() - 1);
+    this.idleTimeout = TimeUnit.MILLISECONDS.toNanos(properties.getIdleTimeout());
+    int shardCount = properties.getShards() <= 1 ? 1
+        : Integer.highestOneBit(properties.getShards() - 1) << 1;
+    this.shards = new Map[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      shards[i] = new ConcurrentHashMap<>();
+    }
+  }
+
+  /**
+   * @param registry registry for rejection & tracked address meters
+   */
+  public void bindMetrics(MetricsRegistry registry) {
+    registry.counter("jetty_rate_limited_total", "Requests rejected with 429", Map.of(),
+        rejected::sum);
+    registry.gauge("jetty_rate_limit_addresses", "Client addresses tracked", Map.of(),
+        this::getTrackedAddresses);
+  }
+
+  @Override
+  public boolean handle(Request request, Response response, Callback callback) throws Exception {
+    Handler next = getHandler();
+    if (next == null) {
+      return false;
+    }
+
+    String address = Request.getRemoteAddr(request);
+    long wait = acquire(address == null ? "" : address, System.nanoTime());
+    if (wait > 0) {
+      rejected.increment();
+      response.setStatus(HttpStatus.TOO_MANY_REQUESTS_429);
+      //rounded up to seconds
+      long retryAfter = TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1);
+      response.getHeaders().put(HttpHeader.RETRY_AFTER, String.valueOf(retryAfter));
+      callback.succeeded();
+      return true;
+    }
+    return next.handle(request, response, callback);
+  }
+
+  /**
+   * @return 0 when request is allowed, otherwise nanos to wait before next request is allowed
+   */
+  long acquire(String address, long now) {
+    Map<String, AtomicLong> shard = shards[spread(address.hashCode()) & (shards.length - 1)];
+    AtomicLong arrival = shard.get(address);
+    if (arrival == null) {
+      arrival = shard.computeIfAbsent(address, key -> new AtomicLong(now));
+    }
+    while (true) {
+      long theoreticalArrival = arrival.get();
+      long next = Math.max(theoreticalArrival, now);
+      long wait = next - burstTolerance - now;
+      if (wait > 0) {
+        return wait;
+      }
+      if (arrival.compareAndSet(theoreticalArrival, next + emissionInterval)) {
+        return 0;
+      }
+    }
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Drops addresses whose bucket is full again, they behave same as new addresses.
+   */
+  void evict(long now) {
+    long threshold = now - idleTimeout;
+    for (Map<String, AtomicLong> shard : shards) {
+      shard.values().removeIf(arrival -> arrival.get() - threshold < 0);
+    }
+  }
+
+  public long getTrackedAddresses() {
+    long addresses = 0;
+    for (Map<String, AtomicLong> shard : shards) {
+      addresses += shard.size();
+    }
+    return addresses;
+  }
+
+  public long getRejected() {
+    return rejected.sum();
+  }
+
+  @Override
+  protected void doStart() throws Exception {
+    super.doStart();
+    scheduleEviction();
+  }
+
+  @Override
+  protected void doStop() throws Exception {
+    if (evictionTask != null) {
+      evictionTask.cancel();
+    }
+    super.doStop();
+    for (Map<String, AtomicLong> shard : shards) {
+      shard.clear();
+    }
+  }
+
+  private void scheduleEviction() {
+    evictionTask = getServer().getScheduler().schedule(() -> {
+      evict(System.nanoTime());
+      if (isRunning()) {
+        scheduleEviction();
+      }
+    }, idleTimeout, TimeUnit.NANOSECONDS);
+  }
+
+}
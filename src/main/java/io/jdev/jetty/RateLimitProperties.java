@@ -0,0 +1,29 @@
+package io.jdev.jetty;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per client address rate limit. Each address may send rate requests per second on average, with
+ * bursts up to burst requests.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/22/24 2:47 PM
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RateLimitProperties {
+
+  private boolean enabled;
+  private double rate = 100; // requests per second
+  private int burst = 100;
+  //power of two, rounded up
+  private int shards = 64;
+  //address state is dropped after being idle, also eviction period
+  private long idleTimeout = 60000; // in milliseconds
+
+}
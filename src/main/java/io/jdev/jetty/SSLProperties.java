@@ -18,18 +18,24 @@ import lombok.NoArgsConstructor;
 @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
 public class SSLProperties {
 
-  private String keyStorePath;
+  private String keyStorePath; // classpath, absolute path or file: uri
   private String keyStorePassword;
   private String keyManagerPassword;
   private Optional<Boolean> needClientAuth = Optional.of(true);
   private Optional<Boolean> wantClientAuth = Optional.of(true);
   private Optional<String> certAlias = Optional.empty();
   private Optional<String> jceProvider = Optional.empty();
+  private Optional<TlsEngine> tlsEngine = Optional.empty();
   private Optional<Boolean> validateCerts = Optional.of(true);
   private Optional<Boolean> validatePeers = Optional.of(true);
   private List<String> includedProtocols;
   private List<String> excludedProtocols;
   private List<String> includedCipherSuites;
   private List<String> excludedCipherSuites;
+  //session resumption
+  private Optional<Integer> sessionCacheSize = Optional.empty();
+  private Optional<Integer> sessionTimeout = Optional.empty(); // in seconds
+  //keystore reload, scanned for changes every interval
+  private Optional<Integer> keyStoreScanInterval = Optional.empty(); // in seconds
 
 }
@@ -0,0 +1,328 @@
+package io.jdev.jetty;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.ee10.servlet.DefaultServlet;
+import org.eclipse.jetty.ee10.servlet.FilterHolder;
+import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
+import org.eclipse.jetty.ee10.servlet.ServletHandler;
+import org.eclipse.jetty.ee10.servlet.ServletHandler.MappedServlet;
+import org.eclipse.jetty.ee10.servlet.ServletHolder;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.util.resource.Resource;
+
+/**
+ * Serves static files of a context from an index built once at filter init: content hash strong
+ * ETags, sizes, content types, gzip encoded bytes and existing .br siblings. Conditional requests
+ * & encoding negotiation are map lookups, without disk I/O. Only files the default servlet would
+ * serve are indexed, up to a total byte budget. Requests for other paths, files over budget &
+ * range requests go down the chain. Directory requests are answered with first existing welcome
+ * file of context when it is indexed.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/23/24 4:10 PM
+ */
+@Slf4j
+public class StaticContentFilter implements Filter {
+
+  public static final String MAX_FILE_SIZE = "maxFileSize";
+  // in bytes
+  public static final long DEFAULT_MAX_FILE_SIZE = 8 * 1024 * 1024;
+  public static final String MAX_INDEX_SIZE = "maxIndexSize";
+  //content, gzip & br bytes of all indexed files, in bytes
+  public static final long DEFAULT_MAX_INDEX_SIZE = 64 * 1024 * 1024;
+
+  private static final String BR = "br";
+  private static final String GZIP = "gzip";
+
+  private final Map<String, Entry> index = new ConcurrentHashMap<>();
+  //directory path to its welcome file entry
+  private final Map<String, Entry> welcomeIndex = new ConcurrentHashMap<>();
+  private long indexSize;
+
+  /**
+   * Adds filter in front of every servlet of context, works for WebAppContext too. Must be called
+   * before context is started.
+   *
+   * @param context servlet context handler
+   * @return filter holder
+   */
+  public static FilterHolder install(ServletContextHandler context) {
+    FilterHolder holder = new FilterHolder(StaticContentFilter.class);
+    holder.setName(StaticContentFilter.class.getSimpleName());
+    context.addFilter(holder, "/*", EnumSet.of(DispatcherType.REQUEST));
+    return holder;
+  }
+
+  @Override
+  public void init(FilterConfig filterConfig) throws ServletException {
+    String maxFileSizeParam = filterConfig.getInitParameter(MAX_FILE_SIZE);
+    long maxFileSize =
+        maxFileSizeParam == null ? DEFAULT_MAX_FILE_SIZE : Long.parseLong(maxFileSizeParam);
+    String maxIndexSizeParam = filterConfig.getInitParameter(MAX_INDEX_SIZE);
+    long maxIndexSize =
+        maxIndexSizeParam == null ? DEFAULT_MAX_INDEX_SIZE : Long.parseLong(maxIndexSizeParam);
+
+    ServletContext servletContext = filterConfig.getServletContext();
+    ServletContextHandler contextHandler = ServletContextHandler.getServletContextHandler(
+        servletContext);
+    Resource baseResource = contextHandler.getBaseResource();
+    Path root = baseResource == null ? null : baseResource.getPath();
+    if (root == null || !Files.isDirectory(root)) {
+      log.warn("Static content not indexed, base resource is not a directory : {}", baseResource);
+      return;
+    }
+
+    int overBudget = 0;
+    try (Stream<Path> files = Files.walk(root)) {
+      for (Path file : files.filter(Files::isRegularFile).toList()) {
+        String path = "/" + root.relativize(file).toString().replace('\\', '/');
+        if (isProtected(path) || path.endsWith(".br") || path.endsWith(".gz")
+            || Files.size(file) > maxFileSize
+            || !isServedByDefaultServlet(contextHandler.getServletHandler(), path)) {
+          continue;
+        }
+        Entry entry = createEntry(servletContext, path, file);
+        //files over budget are served by default servlet
+        if (indexSize + entry.size() > maxIndexSize) {
+          overBudget++;
+          continue;
+        }
+        indexSize += entry.size();
+        index.put(path, entry);
+      }
+      indexWelcomeFiles(root, contextHandler.getWelcomeFiles());
+    } catch (IOException e) {
+      throw new ServletException("Static content indexing failed : " + root, e);
+    }
+    if (overBudget > 0) {
+      log.warn("{} static files of '{}' not indexed, index size limit {} bytes reached",
+          overBudget, servletContext.getContextPath(), maxIndexSize);
+    }
+    log.info("Indexed {} static files of '{}', {} bytes", index.size(),
+        servletContext.getContextPath(), indexSize);
+  }
+
+  /**
+   * Directory is indexed when its first existing welcome file is indexed, as default servlet would
+   * serve that one.
+   */
+  private void indexWelcomeFiles(Path root, String[] welcomeFiles) throws IOException {
+    if (welcomeFiles == null || welcomeFiles.length == 0) {
+      return;
+    }
+    try (Stream<Path> directories = Files.walk(root)) {
+      for (Path directory : directories.filter(Files::isDirectory).toList()) {
+        String relative = root.relativize(directory).toString().replace('\\', '/');
+        String path = relative.isEmpty() ? "/" : "/" + relative + "/";
+        for (String welcomeFile : welcomeFiles) {
+          if (Files.isRegularFile(directory.resolve(welcomeFile))) {
+            Entry entry = index.get(path + welcomeFile);
+            if (entry != null) {
+              welcomeIndex.put(path, entry);
+            }
+            break;
+          }
+        }
+      }
+    }
+  }
+
+  @Override
+  public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse,
+      FilterChain chain) throws IOException, ServletException {
+    if (!(servletRequest instanceof HttpServletRequest request)
+        || !(servletResponse instanceof HttpServletResponse response)) {
+      chain.doFilter(servletRequest, servletResponse);
+      return;
+    }
+
+    String method = request.getMethod();
+    boolean head = "HEAD".equals(method);
+    Entry entry = head || "GET".equals(method) ? lookup(indexKey(request)) : null;
+    //ranges are answered by default servlet
+    if (entry == null || request.getHeader(HttpHeader.RANGE.asString()) != null) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    String acceptEncoding = request.getHeader(HttpHeader.ACCEPT_ENCODING.asString());
+    String encoding = null;
+    byte[] content = entry.content();
+    if (entry.br() != null && accepts(acceptEncoding, BR)) {
+      encoding = BR;
+      content = entry.br();
+    } else if (entry.gzip() != null && accepts(acceptEncoding, GZIP)) {
+      encoding = GZIP;
+      content = entry.gzip();
+    }
+    //variants need their own strong etag
+    String etag = encoding == null ? entry.etag() : variantEtag(entry.etag(), encoding);
+
+    response.setHeader(HttpHeader.ETAG.asString(), etag);
+    if (entry.br() != null || entry.gzip() != null) {
+      response.setHeader(HttpHeader.VARY.asString(), HttpHeader.ACCEPT_ENCODING.asString());
+    }
+    String ifNoneMatch = request.getHeader(HttpHeader.IF_NONE_MATCH.asString());
+    if (ifNoneMatch != null && matches(ifNoneMatch, etag)) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+
+    if (entry.contentType() != null) {
+      response.setContentType(entry.contentType());
+    }
+    if (encoding != null) {
+      response.setHeader(HttpHeader.CONTENT_ENCODING.asString(), encoding);
+    }
+    response.setContentLength(content.length);
+    if (!head) {
+      response.getOutputStream().write(content);
+    }
+  }
+
+  public int getIndexedFiles() {
+    return index.size();
+  }
+
+  protected static String indexKey(HttpServletRequest request) {
+    String pathInfo = request.getPathInfo();
+    return pathInfo == null ? request.getServletPath() : request.getServletPath() + pathInfo;
+  }
+
+  private Entry lookup(String path) {
+    //context root without slash is redirected by default servlet
+    if (path.isEmpty()) {
+      return null;
+    }
+    return path.endsWith("/") ? welcomeIndex.get(path) : index.get(path);
+  }
+
+  protected static boolean accepts(String acceptEncoding, String encoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String value : acceptEncoding.split(",")) {
+      String[] parts = value.trim().split(";");
+      if (parts[0].trim().equalsIgnoreCase(encoding)) {
+        //q=0 means not acceptable
+        return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+      }
+    }
+    return false;
+  }
+
+  /**
+   * If-None-Match uses weak comparison, W/ prefix of validators is ignored.
+   */
+  protected static boolean matches(String ifNoneMatch, String etag) {
+    String opaqueTag = stripWeak(etag);
+    for (String value : ifNoneMatch.split(",")) {
+      String candidate = value.trim();
+      if ("*".equals(candidate) || stripWeak(candidate).equals(opaqueTag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String stripWeak(String etag) {
+    return etag.startsWith("W/") ? etag.substring(2) : etag;
+  }
+
+  private static boolean isProtected(String path) {
+    String upper = path.toUpperCase();
+    return upper.startsWith("/WEB-INF/") || upper.startsWith("/META-INF/")
+        || upper.endsWith(".JSP") || upper.endsWith(".JSPX");
+  }
+
+  /**
+   * Files of paths mapped to other servlets are not static content.
+   */
+  private static boolean isServedByDefaultServlet(ServletHandler servletHandler, String path) {
+    MappedServlet mappedServlet = servletHandler.getMappedServlet(path);
+    if (mappedServlet == null) {
+      return false;
+    }
+    ServletHolder holder = mappedServlet.getServletHolder();
+    Class<?> heldClass = holder.getHeldClass();
+    return heldClass != null ? DefaultServlet.class.isAssignableFrom(heldClass)
+        : DefaultServlet.class.getName().equals(holder.getClassName());
+  }
+
+  private static Entry createEntry(ServletContext servletContext, String path, Path file)
+      throws IOException {
+    byte[] content = Files.readAllBytes(file);
+    String contentType = servletContext.getMimeType(path);
+
+    Path brFile = file.resolveSibling(file.getFileName() + ".br");
+    byte[] br = Files.isRegularFile(brFile) ? Files.readAllBytes(brFile) : null;
+    byte[] gzip = isCompressible(contentType) ? gzip(content) : null;
+    //keep gzip bytes only when they pay off
+    if (gzip != null && gzip.length >= content.length) {
+      gzip = null;
+    }
+    return new Entry(strongEtag(content), contentType, content, gzip, br);
+  }
+
+  private static boolean isCompressible(String contentType) {
+    if (contentType == null) {
+      return false;
+    }
+    return contentType.startsWith("text/") || contentType.contains("javascript")
+        || contentType.contains("json") || contentType.contains("xml")
+        || contentType.contains("svg");
+  }
+
+  private static byte[] gzip(byte[] content) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 2 + 32);
+    try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(content);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static String strongEtag(byte[] content) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+      return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + '"';
+    } catch (NoSuchAlgorithmException e) {
+      throw new JettyException("SHA-256 not available", e);
+    }
+  }
+
+  private static String variantEtag(String etag, String encoding) {
+    return etag.substring(0, etag.length() - 1) + "--" + encoding + '"';
+  }
+
+  private record Entry(String etag, String contentType, byte[] content, byte[] gzip, byte[] br) {
+
+    private long size() {
+      return (long) content.length + (gzip == null ? 0 : gzip.length)
+          + (br == null ? 0 : br.length);
+    }
+
+  }
+
+}
@@ -1,7 +1,36 @@
 package io.jdev.jetty;
 
+/**
+ * @param executorMode   thread model, {@link ExecutorMode#PLATFORM} when not set. Modes with
+ *                       virtual threads fall back to platform threads when runtime doesn't
+ *                       support them.
+ * @param queueCapacity  max queued jobs, unbounded when 0. Not used by
+ *                       {@link ExecutorMode#VIRTUAL}.
+ * @param overflowPolicy policy for jobs over queue capacity, {@link OverflowPolicy#REJECT} when
+ *                       not set. {@link OverflowPolicy#CALLER_RUNS} acts as REJECT for jobs
+ *                       submitted by selectors & other pool threads, i.e. most server traffic.
+ */
 public record ThreadPoolProperties(String poolName, boolean daemonThreads,
                                    int minThreads, int maxThreads, int reservedThreads,
-                                   int idleTimeout, int stopTimeout) {
+                                   int idleTimeout, int stopTimeout, ExecutorMode executorMode,
+                                   int queueCapacity, OverflowPolicy overflowPolicy) {
 
-}
\ No newline at end of file
+  public ThreadPoolProperties {
+    if (executorMode == null) {
+      executorMode = ExecutorMode.PLATFORM;
+    }
+    if (overflowPolicy == null) {
+      overflowPolicy = OverflowPolicy.REJECT;
+    }
+  }
+
+  /**
+   * Platform thread pool with unbounded queue.
+   */
+  public ThreadPoolProperties(String poolName, boolean daemonThreads, int minThreads,
+      int maxThreads, int reservedThreads, int idleTimeout, int stopTimeout) {
+    this(poolName, daemonThreads, minThreads, maxThreads, reservedThreads, idleTimeout,
+        stopTimeout, null, 0, null);
+  }
+
+}
@@ -0,0 +1,26 @@
+package io.jdev.jetty;
+
+/**
+ * TLS implementation used by https connectors.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/17/24 6:15 PM
+ */
+public enum TlsEngine {
+
+  /**
+   * JDK SunJSSE provider, or {@link SSLProperties#getJceProvider()} when set.
+   */
+  JDK,
+
+  /**
+   * Conscrypt (BoringSSL), startup fails if native library can't be loaded.
+   */
+  CONSCRYPT,
+
+  /**
+   * Conscrypt when native library loads, JDK otherwise.
+   */
+  AUTO
+
+}
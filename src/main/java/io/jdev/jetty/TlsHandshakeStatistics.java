@@ -0,0 +1,109 @@
+package io.jdev.jetty;
+
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSession;
+import org.eclipse.jetty.io.Connection;
+import org.eclipse.jetty.io.ssl.SslConnection;
+import org.eclipse.jetty.io.ssl.SslHandshakeListener;
+
+/**
+ * Counts full vs resumed TLS handshakes of a logical connector, one instance is shared by its
+ * SO_REUSEPORT siblings. A handshake is resumed when its session was created before the
+ * connection was opened, which covers TLS 1.3 PSK/ticket resumption where session id changes. For
+ * TLS 1.2 a session id already seen by this connector is resumed too, ids of most recent sessions
+ * are kept.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/16/24 7:48 PM
+ */
+public class TlsHandshakeStatistics implements SslHandshakeListener, Connection.Listener {
+
+  public static final int DEFAULT_MAX_SESSIONS = 10_000;
+
+  private final Set<String> seenSessions;
+  //open time of connections with handshake in progress
+  private final Map<SSLEngine, Long> openedConnections = new ConcurrentHashMap<>();
+  private final LongAdder fullHandshakes = new LongAdder();
+  private final LongAdder resumedHandshakes = new LongAdder();
+  private final LongAdder failedHandshakes = new LongAdder();
+
+  public TlsHandshakeStatistics() {
+    this(DEFAULT_MAX_SESSIONS);
+  }
+
+  /**
+   * @param maxSessions session ids remembered, least recently seen are evicted
+   */
+  public TlsHandshakeStatistics(int maxSessions) {
+    this.seenSessions = Collections.synchronizedSet(Collections.newSetFromMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > maxSessions;
+          }
+        }));
+  }
+
+  @Override
+  public void onOpened(Connection connection) {
+    if (connection instanceof SslConnection sslConnection) {
+      openedConnections.put(sslConnection.getSSLEngine(), connection.getCreatedTimeStamp());
+    }
+  }
+
+  @Override
+  public void onClosed(Connection connection) {
+    if (connection instanceof SslConnection sslConnection) {
+      openedConnections.remove(sslConnection.getSSLEngine());
+    }
+  }
+
+  @Override
+  public void handshakeSucceeded(Event event) {
+    SSLEngine sslEngine = event.getSSLEngine();
+    Long opened = openedConnections.remove(sslEngine);
+    SSLSession session = sslEngine.getSession();
+    if (session != null && isResumed(session, opened)) {
+      resumedHandshakes.increment();
+    } else {
+      fullHandshakes.increment();
+    }
+  }
+
+  private boolean isResumed(SSLSession session, Long opened) {
+    //resumed session keeps creation time of session it resumes
+    boolean resumed = opened != null && session.getCreationTime() < opened;
+    byte[] id = session.getId();
+    //add returns false for a session id seen before
+    if (id != null && id.length > 0 && !seenSessions.add(HexFormat.of().formatHex(id))) {
+      resumed = true;
+    }
+    return resumed;
+  }
+
+  @Override
+  public void handshakeFailed(Event event, Throwable failure) {
+    openedConnections.remove(event.getSSLEngine());
+    failedHandshakes.increment();
+  }
+
+  public long getFullHandshakes() {
+    return fullHandshakes.sum();
+  }
+
+  public long getResumedHandshakes() {
+    return resumedHandshakes.sum();
+  }
+
+  public long getFailedHandshakes() {
+    return failedHandshakes.sum();
+  }
+
+}
@@ -0,0 +1,31 @@
+package io.jdev.jetty;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Startup settings applied to every WebAppContext of server. Attributes already set on a context
+ * are kept, so jar patterns can be set per context.
+ *
+ * @author gentjan kolicaj
+ * @Date: 12/23/24 6:44 PM
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+public class WebAppProperties {
+
+  private QuickStartMode quickStartMode = QuickStartMode.OFF;
+  //descriptor location, WEB-INF/quickstart-web.xml by default
+  private Optional<String> quickStartXml = Optional.empty();
+  //container classpath jars scanned for annotations, TLDs & fragments
+  private Optional<String> containerJarPattern = Optional.empty();
+  //WEB-INF/lib jars scanned for annotations, TLDs & fragments
+  private Optional<String> webInfJarPattern = Optional.empty();
+
+}
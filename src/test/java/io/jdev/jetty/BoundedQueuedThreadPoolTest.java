@@ -0,0 +1,168 @@
+package io.jdev.jetty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.eclipse.jetty.util.Callback;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @author gentjan kolicaj
+ * @Date: 12/21/24 4:40 PM
+ */
+class BoundedQueuedThreadPoolTest {
+
+  @Test
+  void reject() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    BoundedQueuedThreadPool pool = startBusyPool(OverflowPolicy.REJECT, release);
+    try {
+      pool.execute(() -> {
+      });
+      assertThatThrownBy(() -> pool.execute(() -> {
+      })).isInstanceOf(RejectedExecutionException.class);
+      assertThat(pool.getRejectedJobs()).isEqualTo(1);
+    } finally {
+      release.countDown();
+      pool.stop();
+    }
+  }
+
+  @Test
+  void callerRuns() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    BoundedQueuedThreadPool pool = startBusyPool(OverflowPolicy.CALLER_RUNS, release);
+    try {
+      pool.execute(() -> {
+      });
+      Thread caller = Thread.currentThread();
+      AtomicBoolean ranOnCaller = new AtomicBoolean();
+      pool.execute(() -> ranOnCaller.set(Thread.currentThread() == caller));
+      assertThat(ranOnCaller).isTrue();
+      assertThat(pool.getCallerRunsJobs()).isEqualTo(1);
+    } finally {
+      release.countDown();
+      pool.stop();
+    }
+  }
+
+  @Test
+  void shedOldest() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    BoundedQueuedThreadPool pool = startBusyPool(OverflowPolicy.SHED_OLDEST, release);
+    try {
+      AtomicBoolean oldestRan = new AtomicBoolean();
+      AtomicReference<Throwable> oldestFailure = new AtomicReference<>();
+      CountDownLatch newestRan = new CountDownLatch(1);
+      pool.execute(new ShedableJob(oldestRan, oldestFailure));
+      pool.execute(newestRan::countDown);
+      assertThat(pool.getShedJobs()).isEqualTo(1);
+      assertThat(pool.getQueueSize()).isEqualTo(1);
+      assertThat(oldestFailure.get()).isInstanceOf(RejectedExecutionException.class);
+
+      release.countDown();
+      assertThat(newestRan.await(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(oldestRan).isFalse();
+    } finally {
+      release.countDown();
+      pool.stop();
+    }
+  }
+
+  @Test
+  void shedOldestRejectsWhenOldestCantFail() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    BoundedQueuedThreadPool pool = startBusyPool(OverflowPolicy.SHED_OLDEST, release);
+    try {
+      CountDownLatch oldestRan = new CountDownLatch(1);
+      pool.execute(oldestRan::countDown);
+      assertThatThrownBy(() -> pool.execute(() -> {
+      })).isInstanceOf(RejectedExecutionException.class);
+      assertThat(pool.getShedJobs()).isZero();
+      assertThat(pool.getRejectedJobs()).isEqualTo(1);
+
+      //oldest job is kept
+      release.countDown();
+      assertThat(oldestRan.await(5, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      release.countDown();
+      pool.stop();
+    }
+  }
+
+  @Test
+  void overflowIsNotLoggedByJetty() throws Exception {
+    Logger logger = (Logger) LoggerFactory.getLogger(QueuedThreadPool.class);
+    ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    appender.start();
+    logger.addAppender(appender);
+    CountDownLatch release = new CountDownLatch(1);
+    BoundedQueuedThreadPool pool = startBusyPool(OverflowPolicy.SHED_OLDEST, release);
+    try {
+      pool.execute(() -> {
+      });
+      for (int i = 0; i < 10; i++) {
+        assertThatThrownBy(() -> pool.execute(() -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+      }
+      assertThat(pool.getRejectedJobs()).isEqualTo(10);
+      //overflow never reaches jetty rejection, which warns with pool dump
+      assertThat(appender.list).noneMatch(event -> event.getLevel() == Level.WARN);
+    } finally {
+      logger.detachAppender(appender);
+      release.countDown();
+      pool.stop();
+    }
+  }
+
+  /**
+   * @return started pool with one thread, blocked until release, and queue of one job
+   */
+  private BoundedQueuedThreadPool startBusyPool(OverflowPolicy overflowPolicy,
+      CountDownLatch release) throws Exception {
+    BoundedQueuedThreadPool pool = new BoundedQueuedThreadPool(1, overflowPolicy);
+    pool.setMaxThreads(1);
+    pool.setMinThreads(1);
+    pool.setReservedThreads(0);
+    pool.start();
+
+    CountDownLatch running = new CountDownLatch(1);
+    pool.execute(() -> {
+      running.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+    return pool;
+  }
+
+  private record ShedableJob(AtomicBoolean ran, AtomicReference<Throwable> failure)
+      implements Runnable, Callback {
+
+    @Override
+    public void run() {
+      ran.set(true);
+    }
+
+    @Override
+    public void failed(Throwable x) {
+      failure.set(x);
+    }
+
+  }
+
+}
@@ -0,0 +1,53 @@
+package io.jdev.jetty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.jdev.jetty.ConcurrencyLimitHandler.Limiter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author gentjan kolicaj
+ * @Date: 12/26/24 11:05 AM
+ */
+class ConcurrencyLimitHandlerTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  void spikeBacksOffOnce() {
+    ConcurrencyLimitHandler handler = new ConcurrencyLimitHandler(
+        new ConcurrencyLimitProperties(true, 100, 1, 1000, 0.5, 1000, 1), List.of("/"), null);
+    Limiter limiter = handler.limiter("/");
+
+    //ten slow requests in flight at once
+    for (int i = 0; i < 10; i++) {
+      assertThat(limiter.tryAcquire()).isTrue();
+    }
+    for (int i = 0; i < 10; i++) {
+      limiter.release(0, 2 * SECOND + i);
+    }
+    assertThat(limiter.getLimit()).isEqualTo(50);
+
+    //request begun after last decrease starts a new window
+    assertThat(limiter.tryAcquire()).isTrue();
+    limiter.release(3 * SECOND, 5 * SECOND);
+    assertThat(limiter.getLimit()).isEqualTo(25);
+  }
+
+  @Test
+  void fastRequestsDoNotBackOff() {
+    ConcurrencyLimitHandler handler = new ConcurrencyLimitHandler(
+        new ConcurrencyLimitProperties(true, 2, 1, 1000, 0.5, 1000, 1), List.of("/"), null);
+    Limiter limiter = handler.limiter("/");
+
+    assertThat(limiter.tryAcquire()).isTrue();
+    assertThat(limiter.tryAcquire()).isTrue();
+    assertThat(limiter.tryAcquire()).isFalse();
+    limiter.release(0, SECOND / 10);
+    limiter.release(0, SECOND / 10);
+    assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(2);
+  }
+
+}
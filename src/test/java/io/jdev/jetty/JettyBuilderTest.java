@@ -3,6 +3,7 @@ package io.jdev.jetty;
 import static io.jdev.jetty.JettyBuilderTest.TestEndpoint.URI;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.jdev.jackson.YamlConfigurations;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.FilterConfig;
@@ -18,18 +19,33 @@ import jakarta.websocket.OnMessage;
 import jakarta.websocket.OnOpen;
 import jakarta.websocket.Session;
 import jakarta.websocket.server.ServerEndpoint;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.Reader;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.ee10.servlet.DefaultServlet;
 import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
+import org.eclipse.jetty.ee10.servlet.ServletHolder;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * @author gentjan kolicaj
@@ -57,6 +73,86 @@ class JettyBuilderTest {
     assertThat(servletContextHandler2).isNotNull();
   }
 
+  @Test
+  void staticContentOptions(@TempDir Path baseDir) throws Exception {
+    //precompressed sibling differs from file, so it's clear which one was served
+    Files.writeString(baseDir.resolve("app.js"), "console.log('plain');");
+    Files.write(baseDir.resolve("app.js.gz"), gzip("console.log('precompressed');"));
+
+    ServletContextHandler servletContextHandler = JettyBuilder.newServletBuilder()
+        .contextPath("/")
+        .baseResource(baseDir.toString())
+        .staticCache(512, 64 * 1024 * 1024, 4 * 1024 * 1024)
+        .precompressed(true)
+        .fileMappedBuffer(true)
+        .etags(true)
+        .build();
+    assertThat(servletContextHandler.getBaseResource()).isNotNull();
+
+    ServletHolder defaultServlet = Arrays.stream(
+            servletContextHandler.getServletHandler().getServlets())
+        .filter(holder -> DefaultServlet.class.getName().equals(holder.getClassName()))
+        .findFirst()
+        .orElseThrow();
+    assertThat(defaultServlet.getInitParameter("maxCachedFiles")).isEqualTo("512");
+    assertThat(defaultServlet.getInitParameter("maxCacheSize")).isEqualTo("67108864");
+    assertThat(defaultServlet.getInitParameter("maxCachedFileSize")).isEqualTo("4194304");
+    assertThat(defaultServlet.getInitParameter("precompressed")).isEqualTo("br=.br,gzip=.gz");
+    assertThat(defaultServlet.getInitParameter("useFileMappedBuffer")).isEqualTo("true");
+    assertThat(defaultServlet.getInitParameter("etags")).isEqualTo("true");
+
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_http_versions.yaml");
+    //gzip handler off, encoding must come from .gz sibling
+    jettyProperties.getJettyServer().setGzipEnabled(false);
+    JettyServer jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        servletContextHandler);
+    jettyServer.start();
+    try {
+      HttpClient client = HttpClient.newHttpClient();
+      HttpRequest request = HttpRequest.newBuilder()
+          .uri(java.net.URI.create("http://localhost:8081/app.js"))
+          .header("Accept-Encoding", "gzip")
+          .GET()
+          .version(Version.HTTP_1_1)
+          .build();
+      HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+      assertThat(response.statusCode()).isEqualTo(200);
+      assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+      assertThat(gunzip(response.body())).isEqualTo("console.log('precompressed');");
+      //default servlet validators are weak, derived from last modified & size
+      assertThat(response.headers().firstValue("ETag")).hasValueSatisfying(
+          etag -> assertThat(etag).startsWith("W/\""));
+
+      HttpRequest identity = HttpRequest.newBuilder()
+          .uri(java.net.URI.create("http://localhost:8081/app.js"))
+          .GET()
+          .version(Version.HTTP_1_1)
+          .build();
+      HttpResponse<String> identityResponse = client.send(identity,
+          HttpResponse.BodyHandlers.ofString());
+      assertThat(identityResponse.statusCode()).isEqualTo(200);
+      assertThat(identityResponse.headers().firstValue("Content-Encoding")).isEmpty();
+      assertThat(identityResponse.body()).isEqualTo("console.log('plain');");
+    } finally {
+      jettyServer.stop();
+    }
+  }
+
+  private static byte[] gzip(String content) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(content.getBytes(StandardCharsets.UTF_8));
+    }
+    return bytes.toByteArray();
+  }
+
+  private static String gunzip(byte[] content) throws IOException {
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
   @Test
   void newWebSocketBuilder() {
     ServletContextHandler servletContextHandler1 = JettyBuilder.newWebSocketBuilder()
@@ -33,6 +33,8 @@ class JettyPropertiesTest {
     assertThat(threadPoolProps.reservedThreads()).isEqualTo(1);
     assertThat(threadPoolProps.idleTimeout()).isEqualTo(10000);
     assertThat(threadPoolProps.stopTimeout()).isEqualTo(10000);
+    assertThat(threadPoolProps.executorMode()).isEqualTo(ExecutorMode.PLATFORM);
+    assertThat(jettyProps.getJettyServer().getBufferPool()).isNull();
 
     List<ConnectorProperties> connectorPropsList = jettyProps.getJettyServer().getConnectors();
     assertThat(connectorPropsList).isNotNull().hasSize(1);
@@ -53,6 +55,35 @@ class JettyPropertiesTest {
     assertThat(httpProperties.getOutputBufferSize().get()).isEqualTo(32768);
   }
 
+  @Test
+  void jettyPoolsYamlTest() throws ConfigurationException {
+    JettyProperties jettyProps = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_pools.yaml");
+    assertThat(jettyProps).isNotNull();
+
+    //Thread pool test
+    ThreadPoolProperties threadPoolProps = jettyProps.getJettyServer().getThreadPool();
+    assertThat(threadPoolProps).isNotNull();
+    assertThat(threadPoolProps.executorMode()).isEqualTo(ExecutorMode.HYBRID);
+
+    //buffer pool test
+    BufferPoolProperties bufferPoolProps = jettyProps.getJettyServer().getBufferPool();
+    assertThat(bufferPoolProps).isNotNull();
+    assertThat(bufferPoolProps.getType()).isEqualTo(BufferPoolType.QUADRATIC);
+    assertThat(bufferPoolProps.getMinCapacity()).isEmpty();
+    assertThat(bufferPoolProps.getMaxCapacity().get()).isEqualTo(65536);
+    assertThat(bufferPoolProps.getMaxBucketSize().get()).isEqualTo(1024);
+    assertThat(bufferPoolProps.getMaxHeapMemory().get()).isEqualTo(67108864L);
+    assertThat(bufferPoolProps.getMaxDirectMemory().get()).isEqualTo(134217728L);
+    assertThat(bufferPoolProps.isDumpStatistics()).isTrue();
+
+    //http config
+    HttpProperties httpProperties = (HttpProperties) jettyProps.getJettyServer().getConnectors()
+        .get(0).getHttpConfig().get();
+    assertThat(httpProperties.getUseInputDirectByteBuffers().get()).isTrue();
+    assertThat(httpProperties.getUseOutputDirectByteBuffers().get()).isFalse();
+  }
+
 
   @Test
   void jettyNoHttpYamlTest() throws ConfigurationException {
@@ -71,6 +102,7 @@ class JettyPropertiesTest {
     assertThat(threadPoolProps.reservedThreads()).isEqualTo(1);
     assertThat(threadPoolProps.idleTimeout()).isEqualTo(10000);
     assertThat(threadPoolProps.stopTimeout()).isEqualTo(10000);
+    assertThat(threadPoolProps.executorMode()).isEqualTo(ExecutorMode.PLATFORM);
 
     List<ConnectorProperties> connectorPropsList = jettyProps.getJettyServer().getConnectors();
     assertThat(connectorPropsList).isNotNull().hasSize(1);
@@ -131,6 +163,10 @@ class JettyPropertiesTest {
     assertThat(sslProperties.getKeyStorePath()).isNotNull().isEqualTo("ssl/keystore.p12");
     assertThat(sslProperties.getKeyStorePassword()).isNotNull().isEqualTo("1234567");
     assertThat(sslProperties.getKeyManagerPassword()).isNullOrEmpty();
+    assertThat(sslProperties.getSessionCacheSize()).isEqualTo(Optional.of(1024));
+    assertThat(sslProperties.getSessionTimeout()).isEqualTo(Optional.of(3600));
+    assertThat(sslProperties.getSessionTickets()).isEmpty();
+    assertThat(sslProperties.getTlsEngine()).isEqualTo(Optional.of(TlsEngine.JDK));
 
     //second connector properties
     ConnectorProperties connectorProps2 = connectorPropsList.get(1);
@@ -153,6 +189,8 @@ class JettyPropertiesTest {
     assertThat(sslProperties2.getKeyStorePath()).isNotNull().isEqualTo("ssl/keystore.p12");
     assertThat(sslProperties2.getKeyStorePassword()).isNotNull().isEqualTo("1234567");
     assertThat(sslProperties2.getKeyManagerPassword()).isNullOrEmpty();
+    assertThat(sslProperties2.getSessionCacheSize()).isEmpty();
+    assertThat(sslProperties2.getTlsEngine()).isEmpty();
   }
 
   @Test
@@ -208,6 +246,16 @@ class JettyPropertiesTest {
     assertThat(httpProperties2.getOutputBufferSize().get()).isEqualTo(32768);
     assertThat(httpProperties2.getVersion().get()).isEqualTo(HttpVersion.HTTP_2);
 
+    //http2 settings
+    Http2Properties http2Properties = httpProperties2.getHttp2().get();
+    assertThat(http2Properties.getMaxConcurrentStreams()).isEqualTo(Optional.of(256));
+    assertThat(http2Properties.getInitialSessionRecvWindow()).isEqualTo(Optional.of(4194304));
+    assertThat(http2Properties.getInitialStreamRecvWindow()).isEqualTo(Optional.of(1048576));
+    assertThat(http2Properties.getMaxFrameSize()).isEqualTo(Optional.of(32768));
+    assertThat(http2Properties.getMaxDecoderTableCapacity()).isEqualTo(Optional.of(8192));
+    assertThat(http2Properties.getMaxEncoderTableCapacity()).isEqualTo(Optional.of(8192));
+    assertThat(httpProperties.getHttp2()).isEmpty();
+
   }
 
 
@@ -270,4 +318,236 @@ class JettyPropertiesTest {
     assertThat(sslProperties2.getKeyManagerPassword()).isNullOrEmpty();
   }
 
-}
\ No newline at end of file
+
+  @Test
+  void jettyGzipYamlTest() throws ConfigurationException {
+    JettyProperties jettyProps = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_gzip.yaml");
+    assertThat(jettyProps).isNotNull();
+    assertThat(jettyProps.getJettyServer()).isNotNull();
+    assertThat(jettyProps.getJettyServer().isGzipEnabled()).isTrue();
+
+    //gzip properties
+    GzipProperties gzipProps = jettyProps.getJettyServer().getGzip();
+    assertThat(gzipProps).isNotNull();
+    assertThat(gzipProps.getMinGzipSize().get()).isEqualTo(1024);
+    assertThat(gzipProps.getCompressionLevel().get()).isEqualTo(6);
+    assertThat(gzipProps.getDeflaterPoolCapacity().get()).isEqualTo(256);
+    assertThat(gzipProps.getSyncFlush().get()).isFalse();
+    assertThat(gzipProps.getIncludedMethods()).containsExactly("GET", "POST");
+    assertThat(gzipProps.getIncludedMimeTypes()).contains("text/plain");
+    assertThat(gzipProps.getExcludedMimeTypes()).isNull();
+    assertThat(gzipProps.getExcludedPaths()).containsExactly("/images/*");
+
+    //per connector opt-out
+    List<ConnectorProperties> connectorPropsList = jettyProps.getJettyServer().getConnectors();
+    assertThat(connectorPropsList).isNotNull().hasSize(2);
+    assertThat(connectorPropsList.get(0).isGzipEnabled()).isTrue();
+    assertThat(connectorPropsList.get(1).isGzipEnabled()).isFalse();
+  }
+
+  @Test
+  void jettyConnectorsYamlTest() throws ConfigurationException {
+    JettyProperties jettyProps = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_connectors.yaml");
+    assertThat(jettyProps).isNotNull();
+    assertThat(jettyProps.getJettyServer()).isNotNull();
+
+    List<ConnectorProperties> connectorPropsList = jettyProps.getJettyServer().getConnectors();
+    assertThat(connectorPropsList).isNotNull().hasSize(2);
+
+    //public connector shares server thread pool
+    ConnectorProperties connectorProps = connectorPropsList.get(0);
+    assertThat(connectorProps.getName()).isEqualTo("public-connector");
+    assertThat(connectorProps.getThreadPool()).isNull();
+    assertThat(connectorProps.getAcceptors()).isEqualTo(1);
+    assertThat(connectorProps.getSelectors()).isEqualTo(2);
+    assertThat(connectorProps.getAcceptQueueSize().get()).isEqualTo(128);
+    assertThat(connectorProps.getReuseAddress().get()).isTrue();
+    assertThat(connectorProps.getReusePort().get()).isFalse();
+
+    //admin connector has dedicated thread pool
+    ConnectorProperties connectorProps2 = connectorPropsList.get(1);
+    assertThat(connectorProps2.getName()).isEqualTo("admin-connector");
+    assertThat(connectorProps2.getAcceptors()).isEqualTo(1);
+    assertThat(connectorProps2.getSelectors()).isEqualTo(1);
+    assertThat(connectorProps2.getAcceptQueueSize()).isEmpty();
+    assertThat(connectorProps2.getReusePort()).isEmpty();
+
+    ThreadPoolProperties threadPoolProps = connectorProps2.getThreadPool();
+    assertThat(threadPoolProps).isNotNull();
+    assertThat(threadPoolProps.poolName()).isEqualTo("admin-pool");
+    assertThat(threadPoolProps.maxThreads()).isEqualTo(8);
+    assertThat(threadPoolProps.executorMode()).isEqualTo(ExecutorMode.PLATFORM);
+    assertThat(threadPoolProps.queueCapacity()).isEqualTo(64);
+    assertThat(threadPoolProps.overflowPolicy()).isEqualTo(OverflowPolicy.SHED_OLDEST);
+
+    //server pool keeps unbounded queue
+    ThreadPoolProperties serverPoolProps = jettyProps.getJettyServer().getThreadPool();
+    assertThat(serverPoolProps.queueCapacity()).isZero();
+    assertThat(serverPoolProps.overflowPolicy()).isEqualTo(OverflowPolicy.REJECT);
+  }
+
+  @Test
+  void jettyMetricsYamlTest() throws ConfigurationException {
+    JettyProperties jettyProps = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_metrics.yaml");
+    assertThat(jettyProps).isNotNull();
+    assertThat(jettyProps.getJettyServer()).isNotNull();
+
+    //metrics properties
+    MetricsProperties metricsProps = jettyProps.getJettyServer().getMetrics();
+    assertThat(metricsProps).isNotNull();
+    assertThat(metricsProps.isEnabled()).isTrue();
+    assertThat(metricsProps.getRegistryClass()).isEmpty();
+    assertThat(metricsProps.isConnectionStatistics()).isTrue();
+    assertThat(metricsProps.isRequestTiming()).isTrue();
+
+    //prometheus properties
+    PrometheusProperties prometheusProps = metricsProps.getPrometheus();
+    assertThat(prometheusProps).isNotNull();
+    assertThat(prometheusProps.isEnabled()).isTrue();
+    assertThat(prometheusProps.getPath()).isEqualTo("/metrics");
+    assertThat(prometheusProps.getConnectorName()).hasValue("admin-connector");
+  }
+
+  @Test
+  void jettyHttp3YamlTest() throws ConfigurationException {
+    JettyProperties jettyProps = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_http3.yaml");
+    assertThat(jettyProps).isNotNull();
+
+    List<ConnectorProperties> connectorPropsList = jettyProps.getJettyServer().getConnectors();
+    assertThat(connectorPropsList).isNotNull().hasSize(2);
+    assertThat(connectorPropsList.get(0).getHttpConfig().get())
+        .isExactlyInstanceOf(HttpsProperties.class);
+
+    //http3 connector
+    ConnectorProperties connectorProps = connectorPropsList.get(1);
+    assertThat(connectorProps.getName()).isEqualTo("http3-connector");
+    assertThat(connectorProps.getPort()).isEqualTo(8092);
+    Http3Properties http3Properties = (Http3Properties) connectorProps.getHttpConfig().get();
+    assertThat(http3Properties.getAltSvcMaxAge()).isEqualTo(Optional.of(86400));
+    assertThat(http3Properties.getPemWorkDirectory()).isEmpty();
+    assertThat(http3Properties.getSsl().get().getKeyStorePath()).isEqualTo("ssl/keystore.p12");
+  }
+
+  @Test
+  void jettyUnixDomainYamlTest() throws ConfigurationException {
+    JettyProperties jettyProps = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_unixdomain.yaml");
+    assertThat(jettyProps).isNotNull();
+
+    List<ConnectorProperties> connectorPropsList = jettyProps.getJettyServer().getConnectors();
+    assertThat(connectorPropsList).isNotNull().hasSize(1);
+
+    ConnectorProperties connectorProps = connectorPropsList.get(0);
+    assertThat(connectorProps.getName()).isEqualTo("sidecar-connector");
+    assertThat(connectorProps.getUnixDomainPath()).isEqualTo(Optional.of("/tmp/jetty.sock"));
+    assertThat(connectorProps.getAcceptQueueSize()).isEqualTo(Optional.of(128));
+    assertThat(connectorProps.getPort()).isZero();
+  }
+
+  @Test
+  void jettyProxyProtocolYamlTest() throws ConfigurationException {
+    JettyProperties jettyProps = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_proxy_protocol.yaml");
+    assertThat(jettyProps).isNotNull();
+
+    ConnectorProperties connectorProps = jettyProps.getJettyServer().getConnectors().get(0);
+    assertThat(connectorProps.getName()).isEqualTo("lb-connector");
+    assertThat(connectorProps.isProxyProtocol()).isTrue();
+  }
+
+  @Test
+  void jettyCustomizersYamlTest() throws ConfigurationException {
+    JettyProperties jettyProps = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_customizers.yaml");
+    assertThat(jettyProps).isNotNull();
+
+    ConnectorProperties connectorProps = jettyProps.getJettyServer().getConnectors().get(0);
+    HttpProperties httpProperties = (HttpProperties) connectorProps.getHttpConfig().get();
+    assertThat(httpProperties.getCustomizers()).containsExactly("forwarded", "host-header");
+  }
+
+  @Test
+  void jettyConcurrencyLimitYamlTest() throws ConfigurationException {
+    JettyProperties jettyProps = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_concurrency_limit.yaml");
+    assertThat(jettyProps).isNotNull();
+
+    ConcurrencyLimitProperties limitProps = jettyProps.getJettyServer().getConcurrencyLimit();
+    assertThat(limitProps).isNotNull();
+    assertThat(limitProps.isEnabled()).isTrue();
+    assertThat(limitProps.getInitialLimit()).isEqualTo(1);
+    assertThat(limitProps.getMinLimit()).isEqualTo(1);
+    assertThat(limitProps.getMaxLimit()).isEqualTo(1);
+    assertThat(limitProps.getBackoffRatio()).isEqualTo(0.5);
+    assertThat(limitProps.getLatencyThreshold()).isEqualTo(500);
+    assertThat(limitProps.getRetryAfter()).isEqualTo(2);
+  }
+
+  @Test
+  void jettyRateLimitYamlTest() throws ConfigurationException {
+    JettyProperties jettyProps = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_rate_limit.yaml");
+    assertThat(jettyProps).isNotNull();
+
+    RateLimitProperties rateLimitProps = jettyProps.getJettyServer().getRateLimit();
+    assertThat(rateLimitProps).isNotNull();
+    assertThat(rateLimitProps.isEnabled()).isTrue();
+    assertThat(rateLimitProps.getRate()).isEqualTo(1);
+    assertThat(rateLimitProps.getBurst()).isEqualTo(2);
+    assertThat(rateLimitProps.getShards()).isEqualTo(16);
+    assertThat(rateLimitProps.getIdleTimeout()).isEqualTo(60000);
+  }
+
+  @Test
+  void jettyLimitsYamlTest() throws ConfigurationException {
+    JettyProperties jettyProps = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_limits.yaml");
+    assertThat(jettyProps).isNotNull();
+
+    LimitsProperties limitsProps = jettyProps.getJettyServer().getLimits();
+    assertThat(limitsProps).isNotNull();
+    assertThat(limitsProps.getMaxConnections()).isEqualTo(Optional.of(1000));
+    assertThat(limitsProps.getLimitedIdleTimeout()).isEqualTo(Optional.of(5000L));
+
+    LowResourcesProperties lowResourcesProps = limitsProps.getLowResources();
+    assertThat(lowResourcesProps.isEnabled()).isTrue();
+    assertThat(lowResourcesProps.isMonitorThreads()).isTrue();
+    assertThat(lowResourcesProps.getMaxMemory()).isEqualTo(Optional.of(1073741824L));
+    assertThat(lowResourcesProps.getLowResourcesIdleTimeout()).isEqualTo(500);
+    assertThat(lowResourcesProps.getPeriod()).isEqualTo(1000);
+    assertThat(lowResourcesProps.getMaxLowResourcesTime()).isEqualTo(5000);
+    assertThat(lowResourcesProps.isAcceptingInLowResources()).isFalse();
+
+    ConnectorProperties connectorProps = jettyProps.getJettyServer().getConnectors().get(0);
+    assertThat(connectorProps.getMaxConnections()).isEqualTo(Optional.of(1));
+  }
+
+  @Test
+  void jettyWebAppYamlTest() throws ConfigurationException {
+    JettyProperties jettyProps = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_webapp.yaml");
+    assertThat(jettyProps).isNotNull();
+
+    WebAppProperties webAppProps = jettyProps.getJettyServer().getWebApp();
+    assertThat(webAppProps).isNotNull();
+    assertThat(webAppProps.getQuickStartMode()).isEqualTo(QuickStartMode.AUTO);
+    assertThat(webAppProps.getQuickStartXml()).isEmpty();
+    assertThat(webAppProps.getContainerJarPattern()).isEqualTo(
+        Optional.of(".*/jakarta\\.servlet-api-[^/]*\\.jar$"));
+    assertThat(webAppProps.getWebInfJarPattern()).isEqualTo(Optional.of(".*/webapp-[^/]*\\.jar$"));
+  }
+
+  @Test
+  void jettyParallelStartYamlTest() throws ConfigurationException {
+    JettyProperties jettyProps = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_parallel_start.yaml");
+    assertThat(jettyProps).isNotNull();
+    assertThat(jettyProps.getJettyServer().getContextStartParallelism()).isEqualTo(
+        Optional.of(4));
+  }
+
+}
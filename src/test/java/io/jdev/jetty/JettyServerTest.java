@@ -1,26 +1,72 @@
 package io.jdev.jetty;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.jdev.jackson.YamlConfigurations;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
 import java.net.URI;
+import java.net.UnixDomainSocketAddress;
 import java.net.http.HttpClient;
 import java.net.http.HttpClient.Version;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.cert.X509Certificate;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.awaitility.Awaitility;
+import org.eclipse.jetty.client.ContentResponse;
 import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpVersion;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
+import org.eclipse.jetty.http3.client.HTTP3Client;
+import org.eclipse.jetty.http3.client.transport.HttpClientTransportOverHTTP3;
+import org.eclipse.jetty.http3.server.HTTP3ServerConnector;
+import org.eclipse.jetty.io.ArrayByteBufferPool;
+import org.eclipse.jetty.server.AbstractConnector;
+import org.eclipse.jetty.server.ConnectionLimit;
 import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.LowResourceMonitor;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.SslConnectionFactory;
+import org.eclipse.jetty.server.handler.ContextHandlerCollection;
+import org.eclipse.jetty.server.handler.SecuredRedirectHandler;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
 import org.eclipse.jetty.util.BufferUtil;
 import org.eclipse.jetty.util.Callback;
+import org.eclipse.jetty.util.ssl.KeyStoreScanner;
+import org.eclipse.jetty.util.VirtualThreads;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * @author gentjan kolicaj
@@ -56,6 +102,41 @@ class JettyServerTest extends SSLTest {
   }
 
 
+  @Test
+  void jettyPoolsYaml() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_pools.yaml");
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        new TestHandler("test  message"));
+
+    jettyServer.start();
+
+    //configured buffer pool replaces jetty default
+    assertThat(jettyServer.server.getByteBufferPool())
+        .isExactlyInstanceOf(ArrayByteBufferPool.Quadratic.class);
+    ArrayByteBufferPool bufferPool = (ArrayByteBufferPool) jettyServer.server.getByteBufferPool();
+    assertThat(bufferPool.getMaxHeapMemory()).isEqualTo(67108864L);
+    assertThat(bufferPool.getMaxDirectMemory()).isEqualTo(134217728L);
+
+    //blocking handling on virtual threads where supported
+    QueuedThreadPool threadPool = (QueuedThreadPool) jettyServer.server.getThreadPool();
+    assertThat(threadPool.getMaxThreads()).isEqualTo(50);
+    assertThat(threadPool.getVirtualThreadsExecutor() != null)
+        .isEqualTo(VirtualThreads.isSupported());
+
+    HttpConfiguration httpConfig = jettyServer.server.getConnectors()[0]
+        .getConnectionFactory(HttpConnectionFactory.class).getHttpConfiguration();
+    assertThat(httpConfig.isUseInputDirectByteBuffers()).isTrue();
+    assertThat(httpConfig.isUseOutputDirectByteBuffers()).isFalse();
+
+    HttpResponse<String> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder()
+        .uri(URI.create("http://localhost:8100"))
+        .GET()
+        .build(), HttpResponse.BodyHandlers.ofString());
+    assertThat(response.statusCode()).isEqualTo(200);
+  }
+
+
   @Test
   void jettyHttpVersionsYaml() throws Exception {
     JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
@@ -147,6 +228,31 @@ class JettyServerTest extends SSLTest {
     jettyServer.join();
   }
 
+  @Test
+  void jettyHttp2SettingsYaml() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_http_versions.yaml");
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        new TestHandler("test  message"));
+
+    jettyServer.start();
+
+    //http2 settings applied on cleartext connector
+    HTTP2CServerConnectionFactory h2c = getConnector("second-connector")
+        .getConnectionFactory(HTTP2CServerConnectionFactory.class);
+    assertThat(h2c).isNotNull();
+    assertThat(h2c.getMaxConcurrentStreams()).isEqualTo(256);
+    assertThat(h2c.getInitialSessionRecvWindow()).isEqualTo(4194304);
+    assertThat(h2c.getInitialStreamRecvWindow()).isEqualTo(1048576);
+    assertThat(h2c.getMaxFrameSize()).isEqualTo(32768);
+    assertThat(h2c.getMaxDecoderTableCapacity()).isEqualTo(8192);
+    assertThat(h2c.getMaxEncoderTableCapacity()).isEqualTo(8192);
+
+    //http/1.1 connector has no http2 factory
+    assertThat(getConnector("first-connector")
+        .getConnectionFactory(HTTP2CServerConnectionFactory.class)).isNull();
+  }
+
   @Test
   void jettyHttpsVersionsYaml() throws Exception {
     JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
@@ -157,6 +263,14 @@ class JettyServerTest extends SSLTest {
     //start jetty server
     jettyServer.start();
 
+    //http2 settings applied on tls connector
+    HTTP2ServerConnectionFactory h2 = getConnector("second-connector")
+        .getConnectionFactory(HTTP2ServerConnectionFactory.class);
+    assertThat(h2).isNotNull();
+    assertThat(h2.getMaxConcurrentStreams()).isEqualTo(128);
+    assertThat(h2.getInitialSessionRecvWindow()).isEqualTo(2097152);
+    assertThat(h2.getInitialStreamRecvWindow()).isEqualTo(524288);
+
     // Create a custom SSLContext that trusts all certificates
     SSLContext sslContext = createSSLContext(DUMMY_TRUST_MANAGER);
 
@@ -180,6 +294,15 @@ class JettyServerTest extends SSLTest {
     assertThat(response.statusCode()).isEqualTo(404);
     assertThat(response.version()).isEqualTo(Version.HTTP_1_1);
 
+    //handshake counted on https connector
+    TlsHandshakeStatistics handshakeStatistics = Arrays.stream(
+            jettyServer.server.getConnectors())
+        .filter(connector -> "first-connector".equals(connector.getName()))
+        .findFirst()
+        .map(connector -> connector.getBean(TlsHandshakeStatistics.class))
+        .orElseThrow();
+    assertThat(handshakeStatistics.getFullHandshakes()).isPositive();
+
     // Create a http/2 request
     //change port because http2 is on different port & connector
     port = 8445;
@@ -209,6 +332,35 @@ class JettyServerTest extends SSLTest {
     jettyServer.join();
   }
 
+  @Test
+  void jettyHttpsConscryptYaml() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_https_conscrypt.yaml");
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        new TestHandler("test  message"));
+    jettyServer.start();
+
+    //AUTO picks conscrypt when native library loads, jvm default provider otherwise
+    SslContextFactory sslContextFactory = jettyServer.server.getConnectors()[0]
+        .getConnectionFactory(SslConnectionFactory.class).getSslContextFactory();
+    assertThat(sslContextFactory.getProvider())
+        .isEqualTo(ConscryptProvider.register() ? ConscryptProvider.NAME : null);
+
+    SSLContext sslContext = createSSLContext(DUMMY_TRUST_MANAGER);
+    HttpClient httpsClient = HttpClient.newBuilder()
+        .sslContext(sslContext)
+        .build();
+    HttpRequest request = HttpRequest.newBuilder()
+        .uri(URI.create("https://127.0.0.1:8449/"))
+        .GET()
+        .version(Version.HTTP_2)
+        .build();
+    HttpResponse<String> response = httpsClient.send(request, HttpResponse.BodyHandlers.ofString());
+    assertThat(response.statusCode()).isEqualTo(200);
+    //ALPN works with either engine
+    assertThat(response.version()).isEqualTo(Version.HTTP_2);
+  }
+
   @Test
   void jettyHttpsYaml() throws Exception {
     JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
@@ -219,6 +371,13 @@ class JettyServerTest extends SSLTest {
         new TestHandler("test  message"));
     jettyServer.start();
 
+    //secured redirect wraps context handlers, gzip still wraps the tree
+    assertThat(jettyServer.server.getHandler()).isInstanceOf(GzipHandler.class);
+    SecuredRedirectHandler securedRedirectHandler = jettyServer.server.getDescendant(
+        SecuredRedirectHandler.class);
+    assertThat(securedRedirectHandler).isNotNull();
+    assertThat(securedRedirectHandler.getHandler()).isInstanceOf(ContextHandlerCollection.class);
+
     // Create a custom SSLContext that trusts all certificates
     SSLContext sslContext = createSSLContext(DUMMY_TRUST_MANAGER);
 
@@ -254,6 +413,762 @@ class JettyServerTest extends SSLTest {
     jettyServer.join();
   }
 
+  @Test
+  void jettyGzipYaml() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_gzip.yaml");
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        new TestHandler("test message ".repeat(512)));
+
+    jettyServer.start();
+
+    // Create a HttpClient instance
+    HttpClient client = HttpClient.newHttpClient();
+    String scheme = "http";
+    String host = "localhost";
+    int port = 8085;
+    String path = "";
+
+    // Create a request on the compressed connector
+    HttpRequest request = HttpRequest.newBuilder()
+        .uri(URI.create(String.format("%s://%s:%d%s", scheme, host, port, path)))
+        .header("Accept-Encoding", "gzip")
+        .GET()
+        .version(Version.HTTP_1_1)
+        .build();
+    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+
+    // Create a request on the connector that opted out of compression
+    port = 8086;
+    HttpRequest request2 = HttpRequest.newBuilder()
+        .uri(URI.create(String.format("%s://%s:%d%s", scheme, host, port, path)))
+        .header("Accept-Encoding", "gzip")
+        .GET()
+        .version(Version.HTTP_1_1)
+        .build();
+    HttpResponse<byte[]> response2 = client.send(request2,
+        HttpResponse.BodyHandlers.ofByteArray());
+    assertThat(response2.statusCode()).isEqualTo(200);
+    assertThat(response2.headers().firstValue("Content-Encoding")).isEmpty();
+
+    Awaitility.await()
+        .timeout(Duration.ofSeconds(2))
+        .pollDelay(Duration.ofSeconds(1))
+        .untilAsserted(() -> {
+          jettyServer.stop();
+        });
+
+    //blocking join until close is called.
+    jettyServer.join();
+  }
+
+  @Test
+  void jettyConnectorsYaml() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_connectors.yaml");
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        new TestHandler("test  message"));
+
+    jettyServer.start();
+
+    ServerConnector publicConnector = getConnector("public-connector");
+    assertThat(publicConnector.getExecutor()).isSameAs(jettyServer.server.getThreadPool());
+    assertThat(publicConnector.getAcceptors()).isEqualTo(1);
+    assertThat(publicConnector.getSelectorManager().getSelectorCount()).isEqualTo(2);
+    assertThat(publicConnector.getAcceptQueueSize()).isEqualTo(128);
+    assertThat(publicConnector.getReuseAddress()).isTrue();
+    assertThat(publicConnector.isReusePort()).isFalse();
+
+    ServerConnector adminConnector = getConnector("admin-connector");
+    assertThat(adminConnector.getExecutor()).isInstanceOf(BoundedQueuedThreadPool.class)
+        .isNotSameAs(jettyServer.server.getThreadPool());
+    assertThat(((QueuedThreadPool) adminConnector.getExecutor()).getName())
+        .isEqualTo("admin-pool");
+    assertThat(adminConnector.getAcceptors()).isEqualTo(1);
+    assertThat(adminConnector.getSelectorManager().getSelectorCount()).isEqualTo(1);
+
+    // Create a HttpClient instance
+    HttpClient client = HttpClient.newHttpClient();
+    String scheme = "http";
+    String host = "localhost";
+    String path = "";
+
+    // Create a request on each connector, admin connector runs on its own executor
+    for (int port : new int[]{8087, 8088}) {
+      HttpRequest request = HttpRequest.newBuilder()
+          .uri(URI.create(String.format("%s://%s:%d%s", scheme, host, port, path)))
+          .GET()
+          .version(Version.HTTP_1_1)
+          .build();
+      HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+      assertThat(response.statusCode()).isEqualTo(200);
+      assertThat(response.body()).isEqualTo("test  message");
+    }
+
+    Awaitility.await()
+        .timeout(Duration.ofSeconds(2))
+        .pollDelay(Duration.ofSeconds(1))
+        .untilAsserted(() -> {
+          jettyServer.stop();
+        });
+
+    //blocking join until close is called.
+    jettyServer.join();
+  }
+
+  @Test
+  void jettyListenersYaml() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_listeners.yaml");
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        new TestHandler("test  message"));
+
+    jettyServer.start();
+
+    //one logical connector fans out into sibling connectors on same port
+    assertThat(jettyServer.server.getConnectors()).hasSize(4)
+        .allSatisfy(connector -> assertThat(connector.getName()).isEqualTo("first-connector"));
+    //siblings share one dedicated pool, not one pool each
+    Executor executor = jettyServer.server.getConnectors()[0].getExecutor();
+    assertThat(executor).isInstanceOf(QueuedThreadPool.class)
+        .isNotSameAs(jettyServer.server.getThreadPool());
+    assertThat(((QueuedThreadPool) executor).isRunning()).isTrue();
+    assertThat(jettyServer.server.getConnectors())
+        .allSatisfy(connector -> assertThat(connector.getExecutor()).isSameAs(executor));
+
+    // Create a HttpClient instance
+    HttpClient client = HttpClient.newHttpClient();
+    String scheme = "http";
+    String host = "localhost";
+    int port = 8089;
+    String path = "";
+
+    // Create a few http/1.1 requests, kernel picks sibling for each connection
+    for (int i = 0; i < 8; i++) {
+      HttpRequest request = HttpRequest.newBuilder()
+          .uri(URI.create(String.format("%s://%s:%d%s", scheme, host, port, path)))
+          .GET()
+          .version(Version.HTTP_1_1)
+          .build();
+      HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+      assertThat(response.statusCode()).isEqualTo(200);
+    }
+
+    //siblings report as one connector, requests are timed once
+    DefaultMetricsRegistry registry = (DefaultMetricsRegistry) jettyServer.getMetricsRegistry();
+    assertThat(registry).isNotNull();
+    assertThat(registry.getMeters())
+        .filteredOn(meter -> meter.name().equals("jetty_connections_total"))
+        .singleElement()
+        .satisfies(meter -> assertThat(meter.labels()).containsEntry("connector",
+            "first-connector"));
+    Awaitility.await()
+        .timeout(Duration.ofSeconds(2))
+        .untilAsserted(() -> {
+          assertThat(registry.getMeters())
+              .filteredOn(meter -> meter.name().equals("jetty_responses_total")
+                  && "2xx".equals(meter.labels().get("status")))
+              .singleElement()
+              .satisfies(meter -> assertThat(meter.value().getAsLong()).isEqualTo(8));
+          assertThat(registry.getMeters())
+              .filteredOn(meter -> meter.name().equals("jetty_request_duration_seconds"))
+              .singleElement()
+              .satisfies(meter -> assertThat(meter.histogram().getCount()).isEqualTo(8));
+        });
+    assertThat(registry.getMeters())
+        .filteredOn(meter -> meter.name().equals("jetty_threads_max")
+            && "listeners-pool".equals(meter.labels().get("pool")))
+        .singleElement()
+        .satisfies(meter -> assertThat(meter.value().getAsLong()).isEqualTo(16));
+
+    Awaitility.await()
+        .timeout(Duration.ofSeconds(2))
+        .pollDelay(Duration.ofSeconds(1))
+        .untilAsserted(() -> {
+          jettyServer.stop();
+        });
+
+    //blocking join until close is called.
+    jettyServer.join();
+  }
+
+  @Test
+  void jettyMetricsYaml() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_metrics.yaml");
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        new TestHandler("test  message"));
+
+    jettyServer.start();
+
+    // Create a HttpClient instance
+    HttpClient client = HttpClient.newHttpClient();
+    String scheme = "http";
+    String host = "localhost";
+    int port = 8091;
+    String path = "/metrics";
+
+    // Timed request on public connector
+    HttpResponse<String> timed = client.send(HttpRequest.newBuilder()
+        .uri(URI.create(String.format("%s://%s:%d/", scheme, host, 8090)))
+        .GET()
+        .version(Version.HTTP_1_1)
+        .build(), HttpResponse.BodyHandlers.ofString());
+    assertThat(timed.statusCode()).isEqualTo(200);
+
+    // Scrape admin connector, timing is recorded once response completes
+    HttpRequest request = HttpRequest.newBuilder()
+        .uri(URI.create(String.format("%s://%s:%d%s", scheme, host, port, path)))
+        .GET()
+        .version(Version.HTTP_1_1)
+        .build();
+    Awaitility.await()
+        .timeout(Duration.ofSeconds(2))
+        .ignoreExceptions()
+        .untilAsserted(() -> assertThat(requestCount(
+            client.send(request, HttpResponse.BodyHandlers.ofString()).body())).isEqualTo("1"));
+    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+        contentType -> assertThat(contentType).startsWith("text/plain; version=0.0.4"));
+    assertThat(response.body())
+        .contains("# TYPE jetty_threads gauge")
+        .contains("jetty_threads{pool=\"jetty-pool\"} ")
+        .contains("jetty_connections_open{connector=\"public-connector\"} ")
+        .contains("jetty_buffer_pool_memory_bytes{type=\"heap\"} ")
+        .contains("# TYPE jetty_request_duration_seconds summary")
+        .contains("jetty_request_duration_seconds{quantile=\"0.99\"} ");
+
+    // Scrapes bypass request timing & limiters
+    HttpResponse<String> rescrape = client.send(request, HttpResponse.BodyHandlers.ofString());
+    assertThat(requestCount(rescrape.body())).isEqualTo("1");
+
+    // Public connector doesn't expose metrics
+    port = 8090;
+    HttpRequest request2 = HttpRequest.newBuilder()
+        .uri(URI.create(String.format("%s://%s:%d%s", scheme, host, port, path)))
+        .GET()
+        .version(Version.HTTP_1_1)
+        .build();
+    HttpResponse<String> response2 = client.send(request2, HttpResponse.BodyHandlers.ofString());
+    assertThat(response2.body()).doesNotContain("jetty_threads");
+
+    Awaitility.await()
+        .timeout(Duration.ofSeconds(2))
+        .pollDelay(Duration.ofSeconds(1))
+        .untilAsserted(() -> {
+          jettyServer.stop();
+        });
+
+    //blocking join until close is called.
+    jettyServer.join();
+  }
+
+  @Test
+  void jettyHttp3Yaml() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_http3.yaml");
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        new TestHandler("test  message"));
+
+    jettyServer.start();
+
+    // Create a custom SSLContext that trusts all certificates
+    SSLContext sslContext = createSSLContext(DUMMY_TRUST_MANAGER);
+    HttpClient httpsClient = HttpClient.newBuilder()
+        .sslContext(sslContext)
+        .build();
+
+    // https connector advertises http3 connector
+    HttpRequest request = HttpRequest.newBuilder()
+        .uri(URI.create("https://127.0.0.1:8092/"))
+        .GET()
+        .build();
+    HttpResponse<String> response = httpsClient.send(request, HttpResponse.BodyHandlers.ofString());
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(response.headers().firstValue("Alt-Svc")).hasValue("h3=\":8092\"; ma=86400");
+
+    // advertised connector serves requests over QUIC
+    HTTP3Client http3Client = new HTTP3Client();
+    http3Client.getQuicConfiguration().setVerifyPeerCertificates(false);
+    http3Client.getClientConnector().setSslContextFactory(new SslContextFactory.Client(true));
+    org.eclipse.jetty.client.HttpClient quicClient = new org.eclipse.jetty.client.HttpClient(
+        new HttpClientTransportOverHTTP3(http3Client));
+    quicClient.start();
+    try {
+      ContentResponse http3Response = quicClient.GET("https://127.0.0.1:8092/");
+      assertThat(http3Response.getStatus()).isEqualTo(200);
+      assertThat(http3Response.getVersion()).isEqualTo(HttpVersion.HTTP_3);
+      assertThat(http3Response.getContentAsString()).isEqualTo("test  message");
+    } finally {
+      quicClient.stop();
+    }
+
+    // key pem files are removed with connector
+    HTTP3ServerConnector http3Connector = (HTTP3ServerConnector) jettyServer.server
+        .getConnectors()[1];
+    Path pemWorkDirectory = http3Connector.getQuicConfiguration().getPemWorkDirectory();
+    assertThat(pemWorkDirectory).exists();
+
+    Awaitility.await()
+        .timeout(Duration.ofSeconds(2))
+        .pollDelay(Duration.ofSeconds(1))
+        .untilAsserted(() -> {
+          jettyServer.stop();
+        });
+
+    //blocking join until close is called.
+    jettyServer.join();
+    assertThat(pemWorkDirectory).doesNotExist();
+  }
+
+  @Test
+  void http3WithoutPortIsRejected() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_http3.yaml");
+    jettyProperties.getJettyServer().getConnectors().get(1).setPort(0);
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        new TestHandler("test  message"));
+
+    //h3=":0" would send clients to a random port
+    assertThatThrownBy(() -> jettyServer.start())
+        .isInstanceOf(JettyException.class)
+        .hasMessageContaining("http3-connector");
+  }
+
+  @Test
+  void jettyUnixDomainYaml() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_unixdomain.yaml");
+    //socket file in temp directory, so tests don't collide
+    Path socketPath = Files.createTempDirectory("jetty-uds").resolve("jetty.sock");
+    jettyProperties.getJettyServer().getConnectors().get(0)
+        .setUnixDomainPath(Optional.of(socketPath.toString()));
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        new TestHandler("test  message"));
+
+    jettyServer.start();
+
+    // plain http/1.1 request over unix domain socket
+    String response;
+    try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath))) {
+      channel.write(StandardCharsets.US_ASCII.encode(
+          "GET / HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n"));
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      ByteBuffer buffer = ByteBuffer.allocate(1024);
+      while (channel.read(buffer) != -1) {
+        out.write(buffer.array(), 0, buffer.position());
+        buffer.clear();
+      }
+      response = out.toString(StandardCharsets.US_ASCII);
+    }
+    assertThat(response).startsWith("HTTP/1.1 200").endsWith("test  message");
+
+    Awaitility.await()
+        .timeout(Duration.ofSeconds(2))
+        .pollDelay(Duration.ofSeconds(1))
+        .untilAsserted(() -> {
+          jettyServer.stop();
+        });
+
+    //blocking join until close is called.
+    jettyServer.join();
+  }
+
+  @Test
+  void jettyProxyProtocolYaml() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_proxy_protocol.yaml");
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        new RemoteAddressHandler());
+
+    jettyServer.start();
+
+    // PROXY v1 header followed by http/1.1 request
+    String response;
+    try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", 8093))) {
+      channel.write(StandardCharsets.US_ASCII.encode(
+          "PROXY TCP4 203.0.113.7 127.0.0.1 51000 8093\r\n"
+              + "GET / HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n"));
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      ByteBuffer buffer = ByteBuffer.allocate(1024);
+      while (channel.read(buffer) != -1) {
+        out.write(buffer.array(), 0, buffer.position());
+        buffer.clear();
+      }
+      response = out.toString(StandardCharsets.US_ASCII);
+    }
+    //client address from PROXY header
+    assertThat(response).startsWith("HTTP/1.1 200").endsWith("203.0.113.7");
+
+    Awaitility.await()
+        .timeout(Duration.ofSeconds(2))
+        .pollDelay(Duration.ofSeconds(1))
+        .untilAsserted(() -> {
+          jettyServer.stop();
+        });
+
+    //blocking join until close is called.
+    jettyServer.join();
+  }
+
+  @Test
+  void jettyCustomizersYaml() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_customizers.yaml");
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        new RemoteAddressHandler());
+
+    jettyServer.start();
+
+    // Create a HttpClient instance
+    HttpClient client = HttpClient.newHttpClient();
+    HttpRequest request = HttpRequest.newBuilder()
+        .uri(URI.create("http://127.0.0.1:8094/"))
+        .header("X-Forwarded-For", "203.0.113.9")
+        .GET()
+        .version(Version.HTTP_1_1)
+        .build();
+    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+    assertThat(response.statusCode()).isEqualTo(200);
+    //client address from forwarded header
+    assertThat(response.body()).isEqualTo("203.0.113.9");
+
+    Awaitility.await()
+        .timeout(Duration.ofSeconds(2))
+        .pollDelay(Duration.ofSeconds(1))
+        .untilAsserted(() -> {
+          jettyServer.stop();
+        });
+
+    //blocking join until close is called.
+    jettyServer.join();
+  }
+
+  @Test
+  void jettyConcurrencyLimitYaml() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_concurrency_limit.yaml");
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        new Handler.Abstract() {
+          @Override
+          public boolean handle(Request request, Response response, Callback callback)
+              throws Exception {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            response.write(true, BufferUtil.toBuffer("done"), callback);
+            return true;
+          }
+        });
+
+    jettyServer.start();
+
+    // Create a HttpClient instance
+    HttpClient client = HttpClient.newHttpClient();
+    HttpRequest request = HttpRequest.newBuilder()
+        .uri(URI.create("http://127.0.0.1:8095/"))
+        .GET()
+        .version(Version.HTTP_1_1)
+        .build();
+
+    // first request holds the only permit
+    CompletableFuture<HttpResponse<String>> first = client.sendAsync(request,
+        HttpResponse.BodyHandlers.ofString());
+    assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+    // second request is shed
+    HttpResponse<String> second = client.send(request, HttpResponse.BodyHandlers.ofString());
+    assertThat(second.statusCode()).isEqualTo(503);
+    assertThat(second.headers().firstValue("Retry-After")).hasValue("2");
+
+    release.countDown();
+    assertThat(first.get(5, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+
+    Awaitility.await()
+        .timeout(Duration.ofSeconds(2))
+        .pollDelay(Duration.ofSeconds(1))
+        .untilAsserted(() -> {
+          jettyServer.stop();
+        });
+
+    //blocking join until close is called.
+    jettyServer.join();
+  }
+
+  @Test
+  void jettyRateLimitYaml() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_rate_limit.yaml");
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        new TestHandler("test  message"));
+
+    jettyServer.start();
+
+    // Create a HttpClient instance
+    HttpClient client = HttpClient.newHttpClient();
+    HttpRequest request = HttpRequest.newBuilder()
+        .uri(URI.create("http://127.0.0.1:8096/"))
+        .GET()
+        .version(Version.HTTP_1_1)
+        .build();
+
+    // burst of 2 is allowed, third request is over limit
+    assertThat(client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode())
+        .isEqualTo(200);
+    assertThat(client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode())
+        .isEqualTo(200);
+    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+    assertThat(response.statusCode()).isEqualTo(429);
+    assertThat(response.headers().firstValue("Retry-After")).hasValue("1");
+
+    Awaitility.await()
+        .timeout(Duration.ofSeconds(2))
+        .pollDelay(Duration.ofSeconds(1))
+        .untilAsserted(() -> {
+          jettyServer.stop();
+        });
+
+    //blocking join until close is called.
+    jettyServer.join();
+  }
+
+  @Test
+  void jettyLimitsYaml() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_limits.yaml");
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        new TestHandler("test  message"));
+
+    jettyServer.start();
+    assertThat(jettyServer.server.getBeans(LowResourceMonitor.class)).hasSize(1);
+    //server wide & connector limits
+    Collection<ConnectionLimit> connectionLimits = jettyServer.server.getBeans(
+        ConnectionLimit.class);
+    assertThat(connectionLimits).extracting(ConnectionLimit::getMaxConnections)
+        .containsExactlyInAnyOrder(1000, 1);
+
+    // idle connection holds the only connector slot
+    try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", 8097))) {
+      Awaitility.await()
+          .timeout(Duration.ofSeconds(2))
+          .untilAsserted(() -> assertThat(connectionLimits).extracting(
+              ConnectionLimit::getConnections).containsOnly(1));
+    }
+
+    Awaitility.await()
+        .timeout(Duration.ofSeconds(2))
+        .pollDelay(Duration.ofSeconds(1))
+        .untilAsserted(() -> {
+          jettyServer.stop();
+        });
+
+    //blocking join until close is called.
+    jettyServer.join();
+  }
+
+  @Test
+  void lowResourcesPausesAccepting() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_low_resources.yaml");
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        new TestHandler("test  message"));
+
+    jettyServer.start();
+    LowResourceMonitor monitor = jettyServer.server.getBean(LowResourceMonitor.class);
+    AbstractConnector connector = (AbstractConnector) jettyServer.server.getConnectors()[0];
+    //heap in use is always over 1 byte max memory
+    Awaitility.await()
+        .timeout(Duration.ofSeconds(5))
+        .untilAsserted(() -> {
+          assertThat(monitor.isLowOnResources()).isTrue();
+          assertThat(connector.isAccepting()).isFalse();
+        });
+
+    //connection waits in backlog, request is never answered
+    try (Socket socket = new Socket("127.0.0.1", 8083)) {
+      socket.setSoTimeout(1000);
+      OutputStream out = socket.getOutputStream();
+      out.write("GET / HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+      out.flush();
+      InputStream in = socket.getInputStream();
+      assertThatThrownBy(in::read).isInstanceOf(SocketTimeoutException.class);
+    }
+  }
+
+  @Test
+  void keyStoreHotReload(@TempDir Path tempDir) throws Exception {
+    Path keyStore = tempDir.resolve("keystore.p12");
+    Files.copy(Path.of("src/test/resources/ssl/keystore.p12"), keyStore);
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_keystore_reload.yaml");
+    HttpsProperties httpsProperties = (HttpsProperties) jettyProperties.getJettyServer()
+        .getConnectors().get(0).getHttpConfig().get();
+    httpsProperties.getSsl().get().setKeyStorePath(keyStore.toString());
+
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        new TestHandler("test message"));
+    jettyServer.start();
+    KeyStoreScanner scanner = jettyServer.server.getBean(KeyStoreScanner.class);
+    assertThat(scanner).isNotNull();
+    assertThat(peerCertificate(8448).getSubjectX500Principal().getName()).contains("jane doe");
+
+    //connection opened before keystore swap
+    SSLContext sslContext = createSSLContext(DUMMY_TRUST_MANAGER);
+    try (SSLSocket liveSocket = (SSLSocket) sslContext.getSocketFactory()
+        .createSocket("127.0.0.1", 8448)) {
+      liveSocket.startHandshake();
+      assertThat(exchange(liveSocket)).startsWith("HTTP/1.1 200");
+
+      Files.copy(Path.of("src/test/resources/ssl/keystore-rotated.p12"), keyStore,
+          StandardCopyOption.REPLACE_EXISTING);
+      scanner.scan(5000);
+
+      //new handshakes present new certificate
+      Awaitility.await()
+          .timeout(Duration.ofSeconds(5))
+          .untilAsserted(() -> assertThat(
+              peerCertificate(8448).getSubjectX500Principal().getName()).contains(
+              "rotated.localhost"));
+
+      //live connection keeps working
+      assertThat(exchange(liveSocket)).startsWith("HTTP/1.1 200");
+    }
+  }
+
+  @Test
+  void tlsSessionResumption() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_keystore_reload.yaml");
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        new TestHandler("test message"));
+    jettyServer.start();
+
+    //same client context, second handshake resumes cached session
+    SSLContext sslContext = createSSLContext(DUMMY_TRUST_MANAGER);
+    byte[][] sessionIds = new byte[2][];
+    for (int i = 0; i < 2; i++) {
+      try (SSLSocket socket = (SSLSocket) sslContext.getSocketFactory()
+          .createSocket("127.0.0.1", 8448)) {
+        socket.setEnabledProtocols(new String[]{"TLSv1.2"});
+        socket.startHandshake();
+        assertThat(exchange(socket)).startsWith("HTTP/1.1 200");
+        sessionIds[i] = socket.getSession().getId();
+      }
+    }
+    assertThat(sessionIds[1]).isEqualTo(sessionIds[0]);
+
+    TlsHandshakeStatistics handshakeStatistics = jettyServer.server.getConnectors()[0]
+        .getBean(TlsHandshakeStatistics.class);
+    assertThat(handshakeStatistics.getFullHandshakes()).isEqualTo(1);
+    assertThat(handshakeStatistics.getResumedHandshakes()).isEqualTo(1);
+  }
+
+  @Test
+  void tlsSessionResumptionDefaultProtocol() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_keystore_reload.yaml");
+    //resumption may land on other sibling
+    jettyProperties.getJettyServer().getConnectors().get(0).setListeners(2);
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(),
+        new TestHandler("test message"));
+    jettyServer.start();
+
+    //one statistics instance per logical connector
+    TlsHandshakeStatistics handshakeStatistics = jettyServer.server.getConnectors()[0]
+        .getBean(TlsHandshakeStatistics.class);
+    assertThat(jettyServer.server.getConnectors()).hasSize(2).allSatisfy(
+        connector -> assertThat(connector.getBean(TlsHandshakeStatistics.class))
+            .isSameAs(handshakeStatistics));
+
+    //TLS 1.3 resumes with session ticket (PSK), session id is not reused
+    SSLContext sslContext = createSSLContext(DUMMY_TRUST_MANAGER);
+    for (int i = 0; i < 2; i++) {
+      try (SSLSocket socket = (SSLSocket) sslContext.getSocketFactory()
+          .createSocket("127.0.0.1", 8448)) {
+        socket.startHandshake();
+        assertThat(socket.getSession().getProtocol()).isEqualTo("TLSv1.3");
+        //reading response also reads ticket sent after handshake
+        assertThat(exchange(socket)).startsWith("HTTP/1.1 200");
+      }
+    }
+
+    assertThat(handshakeStatistics.getFullHandshakes()).isEqualTo(1);
+    assertThat(handshakeStatistics.getResumedHandshakes()).isEqualTo(1);
+  }
+
+  private static X509Certificate peerCertificate(int port) throws Exception {
+    //fresh context, no session to resume
+    SSLContext sslContext = createSSLContext(DUMMY_TRUST_MANAGER);
+    try (SSLSocket socket = (SSLSocket) sslContext.getSocketFactory()
+        .createSocket("127.0.0.1", port)) {
+      socket.startHandshake();
+      return (X509Certificate) socket.getSession().getPeerCertificates()[0];
+    }
+  }
+
+  /**
+   * @return status line of http/1.1 response read from kept alive connection
+   */
+  private static String exchange(SSLSocket socket) throws Exception {
+    OutputStream out = socket.getOutputStream();
+    out.write("GET / HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+    out.flush();
+
+    InputStream in = socket.getInputStream();
+    String statusLine = readLine(in);
+    int contentLength = -1;
+    boolean chunked = false;
+    for (String header = readLine(in); !header.isEmpty(); header = readLine(in)) {
+      String lower = header.toLowerCase();
+      if (lower.startsWith("content-length:")) {
+        contentLength = Integer.parseInt(header.substring(15).trim());
+      } else if (lower.startsWith("transfer-encoding:") && lower.contains("chunked")) {
+        chunked = true;
+      }
+    }
+    if (chunked) {
+      for (int size = Integer.parseInt(readLine(in).trim(), 16); size > 0;
+          size = Integer.parseInt(readLine(in).trim(), 16)) {
+        in.readNBytes(size);
+        readLine(in);
+      }
+      readLine(in);
+    } else if (contentLength > 0) {
+      in.readNBytes(contentLength);
+    }
+    return statusLine;
+  }
+
+  private static String readLine(InputStream in) throws Exception {
+    StringBuilder line = new StringBuilder();
+    for (int b = in.read(); b != -1 && b != '\n'; b = in.read()) {
+      if (b != '\r') {
+        line.append((char) b);
+      }
+    }
+    return line.toString();
+  }
+
+  private static String requestCount(String scrape) {
+    return scrape.lines()
+        .filter(line -> line.startsWith("jetty_request_duration_seconds_count"))
+        .map(line -> line.substring(line.lastIndexOf(' ') + 1))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private ServerConnector getConnector(String name) {
+    return Arrays.stream(jettyServer.server.getConnectors())
+        .filter(connector -> name.equals(connector.getName()))
+        .map(ServerConnector.class::cast)
+        .findFirst()
+        .orElseThrow();
+  }
+
   @RequiredArgsConstructor
   public class TestHandler extends Handler.Abstract {
 
@@ -268,4 +1183,14 @@ class JettyServerTest extends SSLTest {
 
   }
 
-}
\ No newline at end of file
+  public class RemoteAddressHandler extends Handler.Abstract {
+
+    @Override
+    public boolean handle(Request request, Response response, Callback callback) throws Exception {
+      response.write(true, BufferUtil.toBuffer(Request.getRemoteAddr(request)), callback);
+      return true;
+    }
+
+  }
+
+}
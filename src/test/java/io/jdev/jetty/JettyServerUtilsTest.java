@@ -0,0 +1,73 @@
+package io.jdev.jetty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Optional;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author gentjan kolicaj
+ * @Date: 12/28/24 6:05 PM
+ */
+class JettyServerUtilsTest {
+
+  @Test
+  void jdkTlsEngine() {
+    SSLProperties sslProperties = new SSLProperties();
+    sslProperties.setJceProvider(Optional.of("SunJSSE"));
+    sslProperties.setTlsEngine(Optional.of(TlsEngine.JDK));
+
+    //conscrypt is never registered for jdk engine
+    assertThat(JettyServerUtils.resolveTlsProvider(sslProperties, () -> {
+      throw new AssertionError("conscrypt registration not expected");
+    })).hasValue("SunJSSE");
+  }
+
+  @Test
+  void conscryptTlsEngine() {
+    SSLProperties sslProperties = new SSLProperties();
+    sslProperties.setTlsEngine(Optional.of(TlsEngine.CONSCRYPT));
+
+    assertThat(JettyServerUtils.resolveTlsProvider(sslProperties, () -> true))
+        .hasValue(ConscryptProvider.NAME);
+  }
+
+  @Test
+  void conscryptTlsEngineUnavailable() {
+    SSLProperties sslProperties = new SSLProperties();
+    sslProperties.setTlsEngine(Optional.of(TlsEngine.CONSCRYPT));
+
+    //explicit request is never downgraded
+    assertThatThrownBy(() -> JettyServerUtils.resolveTlsProvider(sslProperties, () -> false))
+        .isInstanceOf(JettyException.class)
+        .hasMessage("Conscrypt tls engine is not available on this platform.");
+  }
+
+  @Test
+  void autoTlsEngine() {
+    SSLProperties sslProperties = new SSLProperties();
+    sslProperties.setTlsEngine(Optional.of(TlsEngine.AUTO));
+
+    assertThat(JettyServerUtils.resolveTlsProvider(sslProperties, () -> true))
+        .hasValue(ConscryptProvider.NAME);
+    //falls back to jvm default provider
+    assertThat(JettyServerUtils.resolveTlsProvider(sslProperties, () -> false)).isEmpty();
+  }
+
+  @Test
+  void platformThreadPoolConstructor() {
+    ThreadPoolProperties threadPoolProperties = new ThreadPoolProperties("pool", false, 2, 8, 1,
+        60000, 5000);
+    assertThat(threadPoolProperties.executorMode()).isEqualTo(ExecutorMode.PLATFORM);
+    assertThat(threadPoolProperties.queueCapacity()).isZero();
+    assertThat(threadPoolProperties.overflowPolicy()).isEqualTo(OverflowPolicy.REJECT);
+
+    ThreadPool threadPool = JettyServerUtils.createThreadPool(threadPoolProperties);
+    assertThat(threadPool).isExactlyInstanceOf(QueuedThreadPool.class);
+    assertThat(((QueuedThreadPool) threadPool).getMaxThreads()).isEqualTo(8);
+  }
+
+}
@@ -0,0 +1,51 @@
+package io.jdev.jetty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author gentjan kolicaj
+ * @Date: 12/14/24 8:15 PM
+ */
+class LatencyHistogramTest {
+
+  @Test
+  void bucketBounds() {
+    //every value falls in bucket whose highest value is not lower than it
+    long[] values = {0, 1, 15, 16, 31, 32, 33, 1000, 123_456_789L, LatencyHistogram.MAX_VALUE};
+    for (long value : values) {
+      int index = LatencyHistogram.index(value);
+      assertThat(LatencyHistogram.highestValue(index)).isGreaterThanOrEqualTo(value);
+      if (index > 0) {
+        assertThat(LatencyHistogram.highestValue(index - 1)).isLessThan(value);
+      }
+    }
+  }
+
+  @Test
+  void quantiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertThat(histogram.getValueAtQuantile(0.5)).isZero();
+
+    for (long i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000);
+    }
+    histogram.record(-1);
+
+    assertThat(histogram.getCount()).isEqualTo(1000);
+    assertThat(histogram.getSum()).isEqualTo(500_500_000L);
+
+    //log-linear buckets keep values within ~6%
+    assertThat(histogram.getValueAtQuantile(0.5)).isBetween(500_000L, 532_000L);
+    assertThat(histogram.getValueAtQuantile(0.99)).isBetween(990_000L, 1_052_000L);
+
+    double[] quantiles = {0.5, 0.99, 1.0};
+    long[] result = new long[quantiles.length];
+    histogram.getValuesAtQuantiles(quantiles, result);
+    assertThat(result[0]).isEqualTo(histogram.getValueAtQuantile(0.5));
+    assertThat(result[1]).isEqualTo(histogram.getValueAtQuantile(0.99));
+    assertThat(result[2]).isGreaterThanOrEqualTo(1_000_000L);
+  }
+
+}
@@ -0,0 +1,211 @@
+package io.jdev.jetty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.jdev.jackson.YamlConfigurations;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.awaitility.Awaitility;
+import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.server.handler.ContextHandler;
+import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.Callback;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author gentjan kolicaj
+ * @Date: 12/24/24 3:40 PM
+ */
+class LazyContextHandlerTest {
+
+  JettyServer jettyServer;
+
+  @AfterEach
+  void testClean() throws Exception {
+    if (jettyServer != null) {
+      jettyServer.stop();
+    }
+  }
+
+  @Test
+  void loadOnFirstRequestAndUnloadWhenIdle() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_http_versions.yaml");
+
+    AtomicInteger loads = new AtomicInteger();
+    LazyContextHandler lazy = JettyHandlerWrapper.lazy(() -> {
+      loads.incrementAndGet();
+      try {
+        //slow initialization, concurrent first requests must wait for it
+        Thread.sleep(300);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return new ContextHandler(new MessageHandler("admin", null), "/admin");
+    }, "/admin", 1000);
+
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(), lazy);
+    jettyServer.start();
+    assertThat(lazy.isLoaded()).isFalse();
+
+    HttpClient client = HttpClient.newHttpClient();
+    HttpRequest request = HttpRequest.newBuilder()
+        .uri(URI.create("http://localhost:8081/admin/"))
+        .GET()
+        .build();
+
+    List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+    }
+    for (CompletableFuture<HttpResponse<String>> response : responses) {
+      assertThat(response.get().statusCode()).isEqualTo(200);
+      assertThat(response.get().body()).isEqualTo("admin");
+    }
+    assertThat(loads.get()).isEqualTo(1);
+    assertThat(lazy.isLoaded()).isTrue();
+
+    //unloaded by scheduled idle check
+    Awaitility.await()
+        .timeout(Duration.ofSeconds(5))
+        .until(() -> !lazy.isLoaded());
+
+    //loaded anew
+    assertThat(client.send(request, HttpResponse.BodyHandlers.ofString()).body())
+        .isEqualTo("admin");
+    assertThat(loads.get()).isEqualTo(2);
+  }
+
+  @Test
+  void keepLoadedWhileRequestInFlight() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_http_versions.yaml");
+
+    CountDownLatch release = new CountDownLatch(1);
+    LazyContextHandler lazy = JettyHandlerWrapper.lazy(
+        () -> new ContextHandler(new MessageHandler("slow", release), "/admin"), "/admin", 200);
+
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(), lazy);
+    jettyServer.start();
+
+    HttpClient client = HttpClient.newHttpClient();
+    CompletableFuture<HttpResponse<String>> slow = client.sendAsync(HttpRequest.newBuilder()
+        .uri(URI.create("http://localhost:8081/admin/"))
+        .GET()
+        .build(), HttpResponse.BodyHandlers.ofString());
+
+    //in flight well past idle timeout
+    Awaitility.await()
+        .timeout(Duration.ofSeconds(5))
+        .until(lazy::isLoaded);
+    Awaitility.await()
+        .pollDelay(Duration.ofMillis(1000))
+        .timeout(Duration.ofSeconds(2))
+        .untilAsserted(() -> assertThat(lazy.isLoaded()).isTrue());
+
+    release.countDown();
+    assertThat(slow.get().body()).isEqualTo("slow");
+    Awaitility.await()
+        .timeout(Duration.ofSeconds(5))
+        .until(() -> !lazy.isLoaded());
+  }
+
+  @Test
+  void lazyServletContext() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_http_versions.yaml");
+
+    //servlet context nested with same context path
+    LazyContextHandler lazy = JettyBuilder.lazy(JettyBuilder.newServletBuilder()
+        .contextPath("/app")
+        .servlet(PathServlet.class, "/servlet/*"), "/app", 500);
+
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(), lazy);
+    jettyServer.start();
+    assertThat(lazy.isLoaded()).isFalse();
+
+    HttpClient client = HttpClient.newHttpClient();
+    HttpResponse<String> response = client.send(HttpRequest.newBuilder()
+        .uri(URI.create("http://localhost:8081/app/servlet/x/y"))
+        .GET()
+        .build(), HttpResponse.BodyHandlers.ofString());
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(response.body()).isEqualTo("/app|/servlet|/x/y");
+
+    ServletContextHandler servletContext = (ServletContextHandler) lazy.getLoadedHandler();
+    assertThat(servletContext.isStarted()).isTrue();
+
+    //unmapped paths are answered by servlet context, not routed elsewhere
+    HttpResponse<String> missing = client.send(HttpRequest.newBuilder()
+        .uri(URI.create("http://localhost:8081/app/missing"))
+        .GET()
+        .build(), HttpResponse.BodyHandlers.ofString());
+    assertThat(missing.statusCode()).isEqualTo(404);
+
+    //unloaded servlet context is stopped
+    Awaitility.await()
+        .timeout(Duration.ofSeconds(5))
+        .until(() -> !lazy.isLoaded());
+    assertThat(servletContext.isStopped()).isTrue();
+
+    //loaded anew as a new servlet context
+    response = client.send(HttpRequest.newBuilder()
+        .uri(URI.create("http://localhost:8081/app/servlet/z"))
+        .GET()
+        .build(), HttpResponse.BodyHandlers.ofString());
+    assertThat(response.body()).isEqualTo("/app|/servlet|/z");
+    assertThat(lazy.getLoadedHandler()).isNotSameAs(servletContext);
+  }
+
+  public static class PathServlet extends HttpServlet {
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+      resp.setContentType("text/plain");
+      resp.getWriter()
+          .print(req.getContextPath() + "|" + req.getServletPath() + "|" + req.getPathInfo());
+    }
+
+  }
+
+  static class MessageHandler extends Handler.Abstract {
+
+    private final String message;
+    private final CountDownLatch release;
+
+    MessageHandler(String message, CountDownLatch release) {
+      this.message = message;
+      this.release = release;
+    }
+
+    @Override
+    public boolean handle(Request request, Response response, Callback callback) throws Exception {
+      if (release != null) {
+        release.await(10, TimeUnit.SECONDS);
+      }
+      response.getHeaders().put(HttpHeader.CONTENT_TYPE, "text/plain; charset=utf-8");
+      response.write(true, BufferUtil.toBuffer(message), callback);
+      return true;
+    }
+
+  }
+
+}
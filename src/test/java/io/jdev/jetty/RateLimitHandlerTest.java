@@ -0,0 +1,63 @@
+package io.jdev.jetty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author gentjan kolicaj
+ * @Date: 12/22/24 4:10 PM
+ */
+class RateLimitHandlerTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  void burstThenRate() {
+    RateLimitHandler handler = new RateLimitHandler(
+        new RateLimitProperties(true, 10, 3, 4, 60000));
+    long now = 0;
+
+    //burst is allowed at once
+    assertThat(handler.acquire("10.0.0.1", now)).isZero();
+    assertThat(handler.acquire("10.0.0.1", now)).isZero();
+    assertThat(handler.acquire("10.0.0.1", now)).isZero();
+    assertThat(handler.acquire("10.0.0.1", now)).isEqualTo(SECOND / 10);
+
+    //other addresses have own bucket
+    assertThat(handler.acquire("10.0.0.2", now)).isZero();
+
+    //one request per emission interval afterwards
+    now += SECOND / 10;
+    assertThat(handler.acquire("10.0.0.1", now)).isZero();
+    assertThat(handler.acquire("10.0.0.1", now)).isPositive();
+  }
+
+  @Test
+  void evictIdleAddresses() {
+    RateLimitHandler handler = new RateLimitHandler(
+        new RateLimitProperties(true, 10, 3, 4, 1000));
+    handler.acquire("10.0.0.1", 0);
+    handler.acquire("10.0.0.2", SECOND);
+    assertThat(handler.getTrackedAddresses()).isEqualTo(2);
+
+    //first address idle for more than idle timeout
+    handler.evict(SECOND + SECOND / 2);
+    assertThat(handler.getTrackedAddresses()).isEqualTo(1);
+
+    handler.evict(3 * SECOND);
+    assertThat(handler.getTrackedAddresses()).isZero();
+  }
+
+  @Test
+  void invalidIdleTimeout() {
+    assertThatThrownBy(() -> new RateLimitHandler(new RateLimitProperties(true, 10, 3, 4, 0)))
+        .isInstanceOf(JettyException.class)
+        .hasMessage("Rate limit idle timeout must be positive.");
+    assertThatThrownBy(() -> new RateLimitHandler(new RateLimitProperties(true, 10, 3, 4, -1)))
+        .isInstanceOf(JettyException.class);
+  }
+
+}
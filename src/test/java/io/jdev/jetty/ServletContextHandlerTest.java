@@ -2,19 +2,30 @@ package io.jdev.jetty;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
 import io.jdev.jackson.YamlConfigurations;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
 import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.net.http.HttpClient;
 import java.net.http.HttpClient.Version;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.extern.slf4j.Slf4j;
 import org.awaitility.Awaitility;
 import org.eclipse.jetty.ee10.servlet.DefaultServlet;
 import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
 import org.eclipse.jetty.ee10.servlet.ServletHolder;
+import org.eclipse.jetty.server.handler.ContextHandler;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
@@ -117,5 +128,94 @@ class ServletContextHandlerTest {
     jettyServer.join();
   }
 
+  @Test
+  void parallelStart() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_parallel_start.yaml");
+
+    //each context waits for the other while starting, sequential start would time out
+    CountDownLatch starting = new CountDownLatch(2);
+    AtomicInteger overlapped = new AtomicInteger();
+    ClassLoader callerClassLoader = new URLClassLoader(new URL[0],
+        Thread.currentThread().getContextClassLoader());
+    List<ClassLoader> startClassLoaders = new CopyOnWriteArrayList<>();
+    ServletContextHandler[] contexts = new ServletContextHandler[2];
+    for (int i = 0; i < contexts.length; i++) {
+      contexts[i] = new ServletContextHandler();
+      contexts[i].setContextPath("/context-" + i);
+      contexts[i].addServlet(DefaultServlet.class, "/");
+      contexts[i].addEventListener(new ServletContextListener() {
+        @Override
+        public void contextInitialized(ServletContextEvent event) {
+          startClassLoaders.add(Thread.currentThread().getContextClassLoader());
+          starting.countDown();
+          try {
+            if (starting.await(5, TimeUnit.SECONDS)) {
+              overlapped.incrementAndGet();
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      });
+    }
+
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(), contexts);
+    ClassLoader previous = Thread.currentThread().getContextClassLoader();
+    Thread.currentThread().setContextClassLoader(callerClassLoader);
+    try {
+      jettyServer.start();
+    } finally {
+      Thread.currentThread().setContextClassLoader(previous);
+    }
+    assertThat(overlapped.get()).isEqualTo(2);
+    assertThat(contexts).allMatch(ServletContextHandler::isAvailable);
+    //listeners see caller's context class loader
+    assertThat(startClassLoaders).hasSize(2).allMatch(loader -> loader == callerClassLoader);
+  }
+
+  @Test
+  void parallelStartFailure() throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_parallel_start.yaml");
+
+    ContextHandler healthy = new ContextHandler("/healthy");
+    ContextHandler broken = new ContextHandler("/broken") {
+      @Override
+      protected void doStart() throws Exception {
+        throw new IllegalStateException("broken context");
+      }
+    };
+
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(), healthy, broken);
+    Throwable thrown = catchThrowable(() -> jettyServer.start());
+    JettyException startFailure = findCause(thrown, JettyException.class);
+    assertThat(startFailure).isNotNull();
+    assertThat(startFailure.getMessage()).isEqualTo("1 of 2 contexts failed to start");
+    assertThat(startFailure.getSuppressed()).hasSize(1);
+    assertThat(startFailure.getSuppressed()[0])
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("broken context");
+    assertThat(healthy.isStarted()).isFalse();
+  }
+
+  /**
+   * Server may wrap start failures, causes & suppressed are searched.
+   */
+  private static <T extends Throwable> T findCause(Throwable thrown, Class<T> type) {
+    if (thrown == null) {
+      return null;
+    }
+    if (type.isInstance(thrown)) {
+      return type.cast(thrown);
+    }
+    for (Throwable suppressed : thrown.getSuppressed()) {
+      T found = findCause(suppressed, type);
+      if (found != null) {
+        return found;
+      }
+    }
+    return thrown.getCause() == thrown ? null : findCause(thrown.getCause(), type);
+  }
 
-}
\ No newline at end of file
+}
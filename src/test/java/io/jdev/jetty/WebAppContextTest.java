@@ -4,17 +4,28 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.jdev.jackson.YamlConfigurations;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpClient.Version;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.awaitility.Awaitility;
+import org.eclipse.jetty.ee10.servlet.ServletHolder;
+import org.eclipse.jetty.ee10.webapp.FragmentConfiguration;
+import org.eclipse.jetty.ee10.webapp.MetaInfConfiguration;
 import org.eclipse.jetty.ee10.webapp.WebAppContext;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * @author gentjan kolicaj
@@ -103,5 +114,192 @@ class WebAppContextTest {
     jettyServer.join();
   }
 
+  @Test
+  void staticContentIndex(@TempDir Path war) throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_http_versions.yaml");
+
+    //static files, a jsp & a file shadowed by servlet mapping
+    String script = "console.log('static content');\n".repeat(200);
+    Files.createDirectories(war.resolve("js"));
+    Files.writeString(war.resolve("js/app.js"), script);
+    Files.writeString(war.resolve("page.jsp"), "<%= \"jsp source\" %>");
+    Files.createDirectories(war.resolve("api"));
+    Files.writeString(war.resolve("api/data.json"), "{\"source\":\"file\"}");
+    //a file over index size limit & a directory with both welcome files
+    String big = "x".repeat(64 * 1024);
+    Files.writeString(war.resolve("big.txt"), big);
+    Files.createDirectories(war.resolve("docs"));
+    Files.writeString(war.resolve("docs/home.html"), "home");
+    Files.writeString(war.resolve("docs/index.html"), "index");
+    Files.createDirectories(war.resolve("WEB-INF"));
+    Files.writeString(war.resolve("WEB-INF/web.xml"), """
+        <?xml version="1.0" encoding="UTF-8"?>
+        <web-app xmlns="https://jakarta.ee/xml/ns/jakartaee" version="5.0">
+          <welcome-file-list>
+            <welcome-file>home.html</welcome-file>
+            <welcome-file>index.html</welcome-file>
+          </welcome-file-list>
+        </web-app>
+        """);
+
+    WebAppContext webAppA = new WebAppContext();
+    webAppA.setContextPath("/a");
+    webAppA.setWar(war.toString());
+    webAppA.addServlet(new ServletHolder(new ApiServlet()), "/api/*");
+    StaticContentFilter.install(webAppA)
+        .setInitParameter(StaticContentFilter.MAX_INDEX_SIZE, String.valueOf(32 * 1024));
+
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(), webAppA);
+    jettyServer.start();
+
+    HttpClient client = HttpClient.newHttpClient();
+    URI uri = URI.create("http://localhost:8081/a/js/app.js");
+
+    //gzip bytes from index
+    HttpResponse<byte[]> gzipped = client.send(HttpRequest.newBuilder(uri)
+        .header("Accept-Encoding", "gzip")
+        .GET()
+        .build(), HttpResponse.BodyHandlers.ofByteArray());
+    assertThat(gzipped.statusCode()).isEqualTo(200);
+    assertThat(gzipped.headers().firstValue("Content-Encoding")).hasValue("gzip");
+    assertThat(gzipped.headers().firstValue("Vary")).hasValue("Accept-Encoding");
+    String gzipEtag = gzipped.headers().firstValue("ETag").orElseThrow();
+    assertThat(gzipEtag).endsWith("--gzip\"");
+
+    //identity bytes
+    HttpResponse<String> identity = client.send(HttpRequest.newBuilder(uri)
+        .GET()
+        .build(), HttpResponse.BodyHandlers.ofString());
+    assertThat(identity.statusCode()).isEqualTo(200);
+    assertThat(identity.headers().firstValue("Content-Encoding")).isEmpty();
+    assertThat(identity.body()).isEqualTo(script);
+
+    //conditional requests, weak comparison
+    HttpResponse<String> notModified = client.send(HttpRequest.newBuilder(uri)
+        .header("Accept-Encoding", "gzip")
+        .header("If-None-Match", gzipEtag)
+        .GET()
+        .build(), HttpResponse.BodyHandlers.ofString());
+    assertThat(notModified.statusCode()).isEqualTo(304);
+    HttpResponse<String> weakNotModified = client.send(HttpRequest.newBuilder(uri)
+        .header("Accept-Encoding", "gzip")
+        .header("If-None-Match", "W/" + gzipEtag)
+        .GET()
+        .build(), HttpResponse.BodyHandlers.ofString());
+    assertThat(weakNotModified.statusCode()).isEqualTo(304);
+
+    //ranges are left to default servlet
+    HttpResponse<String> range = client.send(HttpRequest.newBuilder(uri)
+        .header("Range", "bytes=0-9")
+        .GET()
+        .build(), HttpResponse.BodyHandlers.ofString());
+    assertThat(range.statusCode()).isEqualTo(206);
+    assertThat(range.body()).isEqualTo(script.substring(0, 10));
+
+    //jsp source is never served from index
+    HttpResponse<String> jsp = client.send(HttpRequest.newBuilder(
+            URI.create("http://localhost:8081/a/page.jsp"))
+        .GET()
+        .build(), HttpResponse.BodyHandlers.ofString());
+    assertThat(jsp.body()).doesNotContain("jsp source");
+
+    //servlet mapped paths reach their servlet
+    HttpResponse<String> api = client.send(HttpRequest.newBuilder(
+            URI.create("http://localhost:8081/a/api/data.json"))
+        .GET()
+        .build(), HttpResponse.BodyHandlers.ofString());
+    assertThat(api.statusCode()).isEqualTo(200);
+    assertThat(api.body()).isEqualTo("servlet");
+
+    //protected resources are never indexed
+    HttpResponse<String> webInf = client.send(HttpRequest.newBuilder(
+            URI.create("http://localhost:8081/a/WEB-INF/web.xml"))
+        .GET()
+        .build(), HttpResponse.BodyHandlers.ofString());
+    assertThat(webInf.statusCode()).isEqualTo(404);
+
+    //files over index size limit fall through to default servlet
+    HttpResponse<String> overLimit = client.send(HttpRequest.newBuilder(
+            URI.create("http://localhost:8081/a/big.txt"))
+        .GET()
+        .build(), HttpResponse.BodyHandlers.ofString());
+    assertThat(overLimit.statusCode()).isEqualTo(200);
+    assertThat(overLimit.headers().firstValue("ETag")).isEmpty();
+    assertThat(overLimit.body()).isEqualTo(big);
+
+    //directories are answered with configured welcome file
+    HttpResponse<String> welcome = client.send(HttpRequest.newBuilder(
+            URI.create("http://localhost:8081/a/docs/"))
+        .GET()
+        .build(), HttpResponse.BodyHandlers.ofString());
+    assertThat(welcome.statusCode()).isEqualTo(200);
+    assertThat(welcome.headers().firstValue("ETag")).isPresent();
+    assertThat(welcome.body()).isEqualTo("home");
+  }
+
+  @Test
+  void quickStart(@TempDir Path tempDir) throws Exception {
+    JettyProperties jettyProperties = YamlConfigurations.load(JettyProperties.class,
+        "/jetty_webapp.yaml");
+
+    //webapp copy, descriptor is generated into its WEB-INF
+    Path war = tempDir.resolve("webapp-a");
+    Path source = Path.of("./src/test/resources/webapps/webapp-a");
+    try (Stream<Path> files = Files.walk(source)) {
+      for (Path file : files.toList()) {
+        Path target = war.resolve(source.relativize(file).toString());
+        if (Files.isDirectory(file)) {
+          Files.createDirectories(target);
+        } else {
+          Files.copy(file, target);
+        }
+      }
+    }
+
+    HttpClient client = HttpClient.newHttpClient();
+    HttpRequest request = HttpRequest.newBuilder()
+        .uri(URI.create("http://localhost:8098/a/"))
+        .GET()
+        .build();
+
+    //first start scans & generates descriptor
+    WebAppContext webAppA = new WebAppContext();
+    webAppA.setContextPath("/a");
+    webAppA.setWar(war.toString());
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(), webAppA);
+    jettyServer.start();
+    assertThat(webAppA.getAttribute(MetaInfConfiguration.CONTAINER_JAR_PATTERN)).isEqualTo(
+        ".*/jakarta\\.servlet-api-[^/]*\\.jar$");
+    assertThat(client.send(request, HttpResponse.BodyHandlers.ofString()).body())
+        .contains("Welcome to WebApp-A");
+    //descriptor is missing, so webapp was scanned
+    assertThat(webAppA.getConfigurations()).anyMatch(MetaInfConfiguration.class::isInstance);
+    jettyServer.stop();
+    assertThat(war.resolve("WEB-INF/quickstart-web.xml")).exists();
+
+    //second start boots from descriptor
+    WebAppContext webAppB = new WebAppContext();
+    webAppB.setContextPath("/a");
+    webAppB.setWar(war.toString());
+    jettyServer = new JettyServer(jettyProperties.getJettyServer(), webAppB);
+    jettyServer.start();
+    assertThat(client.send(request, HttpResponse.BodyHandlers.ofString()).body())
+        .contains("Welcome to WebApp-A");
+    //scanning configurations were replaced by descriptor
+    assertThat(webAppB.getConfigurations())
+        .noneMatch(MetaInfConfiguration.class::isInstance)
+        .noneMatch(FragmentConfiguration.class::isInstance);
+  }
+
+  static class ApiServlet extends HttpServlet {
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+      resp.setContentType("text/plain");
+      resp.getWriter().print("servlet");
+    }
+
+  }
 
-}
\ No newline at end of file
+}